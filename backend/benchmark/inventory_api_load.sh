@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# ========================================
+# /api/inventory, /api/breads 동시 부하 측정 (Hibernate 2차 캐시 전/후 비교)
+# ========================================
+# hey (https://github.com/rakyll/hey) 필요
+#
+# 1) 캐시 미사용으로 기동 후 측정
+#   ./gradlew bootRun --args='--spring.jpa.properties.hibernate.cache.use_second_level_cache=false --spring.jpa.properties.hibernate.cache.use_query_cache=false --spring.jpa.show-sql=false'
+#   ./benchmark/inventory_api_load.sh > before.txt
+# 2) 기본 설정(캐시 사용)으로 다시 기동 후 측정
+#   ./gradlew bootRun --args='--spring.jpa.show-sql=false'
+#   ./benchmark/inventory_api_load.sh > after.txt
+#
+# 각 결과의 Requests/sec 와 지연 분포(p50/p95/p99)를 비교합니다. 측정한 값은 PR에 함께 기록해주세요.
+# ========================================
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+REQUESTS=${REQUESTS:-20000}
+CONCURRENCY=${CONCURRENCY:-50}
+
+# 워밍업 (JIT, 커넥션 풀, 캐시 적재)
+hey -n 2000 -c "$CONCURRENCY" "$BASE_URL/api/inventory" > /dev/null
+hey -n 2000 -c "$CONCURRENCY" "$BASE_URL/api/breads" > /dev/null
+
+for path in /api/inventory /api/breads; do
+  echo "===== GET $path (n=$REQUESTS, c=$CONCURRENCY) ====="
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL$path"
+done
+
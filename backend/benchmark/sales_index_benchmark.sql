@@ -0,0 +1,152 @@
+-- ========================================
+-- 판매 인덱스 벤치마크 (1M / 10M 판매 행)
+-- ========================================
+-- 별도 스키마(ddbb_bench)에 운영과 같은 sales/bread 구조를 만들고 @rows 행을 생성한 뒤,
+-- 주요 조회 쿼리를 인덱스 사용 / 미사용(IGNORE INDEX)으로 각각 EXPLAIN ANALYZE 합니다.
+-- MySQL 8.0.18 이상 필요 (EXPLAIN ANALYZE)
+--
+-- 실행 방법:
+--   mysql -u root -p1234 -e "SET @rows = 1000000;  SOURCE benchmark/sales_index_benchmark.sql"
+--   mysql -u root -p1234 -e "SET @rows = 10000000; SOURCE benchmark/sales_index_benchmark.sql"
+--
+-- 결과는 각 EXPLAIN ANALYZE 출력의 actual time(ms)을 비교합니다.
+-- 10M 행 생성은 수 분 이상 걸리며 약 1GB 이상의 디스크를 사용합니다.
+-- ========================================
+
+SET @rows := COALESCE(@rows, 1000000);
+
+CREATE DATABASE IF NOT EXISTS ddbb_bench;
+USE ddbb_bench;
+
+DROP TABLE IF EXISTS sales;
+DROP TABLE IF EXISTS bread;
+DROP TABLE IF EXISTS digits;
+
+CREATE TABLE bread (
+    id    BIGINT         NOT NULL AUTO_INCREMENT,
+    name  VARCHAR(100)   NOT NULL,
+    price DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- V1 + V2 + V5 마이그레이션 적용 후와 같은 인덱스 구조 (FK 인덱스 포함, 파티션 제외)
+CREATE TABLE sales (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    bread_id      BIGINT         NOT NULL,
+    quantity      INT            NOT NULL,
+    total_price   DECIMAL(38, 2) NOT NULL,
+    sale_date     DATETIME(6)    NOT NULL,
+    created_at    DATETIME(6)    NOT NULL,
+    stock_applied BIT,
+    PRIMARY KEY (id),
+    INDEX idx_sales_bread_fk (bread_id),
+    INDEX idx_sales_date_bread_covering (sale_date, bread_id, quantity, total_price),
+    INDEX idx_sales_sale_date (sale_date)
+) ENGINE = InnoDB;
+
+INSERT INTO bread (name, price) VALUES
+('오리지널크라상', 3200), ('소금버터롤', 2800), ('다크초코피넛버터쿠키', 4200),
+('에그마요소금버터롤', 4500), ('초코청크머핀', 4500), ('호두파이(조각)', 4700), ('츄러스꽈배기', 3500);
+
+CREATE TABLE digits (d INT NOT NULL PRIMARY KEY) ENGINE = InnoDB;
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- 최근 2년에 고르게 분포한 @rows 행 생성 (10^7 = 최대 10M)
+SELECT CONCAT('판매 데이터 생성: ', @rows, '행') AS '';
+INSERT INTO sales (bread_id, quantity, total_price, sale_date, created_at, stock_applied)
+SELECT 1 + n % 7,
+       1 + n % 3,
+       (1 + n % 3) * 3000,
+       TIMESTAMP(CURDATE()) - INTERVAL (n % (730 * 24 * 60)) MINUTE,
+       NOW(6),
+       TRUE
+FROM (
+    SELECT d1.d + d2.d * 10 + d3.d * 100 + d4.d * 1000 + d5.d * 10000 + d6.d * 100000 + d7.d * 1000000 AS n
+    FROM digits d1, digits d2, digits d3, digits d4, digits d5, digits d6, digits d7
+) seq
+WHERE n < @rows;
+
+ANALYZE TABLE sales;
+
+SET @from := TIMESTAMP(CURDATE() - INTERVAL 7 DAY);
+SET @to   := TIMESTAMP(CURDATE());
+
+-- ----------------------------------------
+-- 1. 기간 요약 (findSalesSummaryByPeriod) - 최근 7일 빵별 합계
+-- ----------------------------------------
+SELECT '1. 기간 요약 - covering 인덱스' AS '';
+EXPLAIN ANALYZE
+SELECT s.bread_id, b.name, SUM(s.quantity), SUM(s.total_price)
+FROM sales s FORCE INDEX (idx_sales_date_bread_covering) JOIN bread b ON b.id = s.bread_id
+WHERE s.sale_date >= @from AND s.sale_date < @to
+GROUP BY s.bread_id, b.name;
+
+SELECT '1. 기간 요약 - 인덱스 미사용 (풀 스캔)' AS '';
+EXPLAIN ANALYZE
+SELECT s.bread_id, b.name, SUM(s.quantity), SUM(s.total_price)
+FROM sales s IGNORE INDEX (idx_sales_date_bread_covering) JOIN bread b ON b.id = s.bread_id
+WHERE s.sale_date >= @from AND s.sale_date < @to
+GROUP BY s.bread_id, b.name;
+
+-- ----------------------------------------
+-- 2. 일별 빵별 집계 (findDailyBreadSales) - 최근 7일
+-- ----------------------------------------
+SELECT '2. 일별 빵별 집계 - covering 인덱스' AS '';
+EXPLAIN ANALYZE
+SELECT DATE(s.sale_date), s.bread_id, SUM(s.quantity), SUM(s.total_price)
+FROM sales s FORCE INDEX (idx_sales_date_bread_covering)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+GROUP BY DATE(s.sale_date), s.bread_id;
+
+SELECT '2. 일별 빵별 집계 - 인덱스 미사용 (풀 스캔)' AS '';
+EXPLAIN ANALYZE
+SELECT DATE(s.sale_date), s.bread_id, SUM(s.quantity), SUM(s.total_price)
+FROM sales s IGNORE INDEX (idx_sales_date_bread_covering)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+GROUP BY DATE(s.sale_date), s.bread_id;
+
+-- ----------------------------------------
+-- 3. 기간 판매 내역 (findSalesInPeriod) - 어제 하루
+-- ----------------------------------------
+SET @from := TIMESTAMP(CURDATE() - INTERVAL 1 DAY);
+
+SELECT '3. 기간 판매 내역 - 인덱스 범위 스캔' AS '';
+EXPLAIN ANALYZE
+SELECT * FROM sales s FORCE INDEX (idx_sales_date_bread_covering)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+ORDER BY s.sale_date;
+
+SELECT '3. 기간 판매 내역 - 인덱스 미사용 (풀 스캔 + 정렬)' AS '';
+EXPLAIN ANALYZE
+SELECT * FROM sales s IGNORE INDEX (idx_sales_date_bread_covering)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+ORDER BY s.sale_date;
+
+-- ----------------------------------------
+-- 4. 커서 페이지 (findPageAfter) - 최근 7일 중 가운데쯤의 커서 다음 100건
+--    (sale_date) 인덱스를 쓰면 Extra 에 Using filesort 가 없고, 읽는 행 수가 페이지 크기 수준이어야 함
+-- ----------------------------------------
+SET @from := TIMESTAMP(CURDATE() - INTERVAL 7 DAY);
+SELECT sale_date, id INTO @after_date, @after_id FROM sales
+WHERE sale_date >= @from + INTERVAL 3 DAY ORDER BY sale_date, id LIMIT 1;
+
+SELECT '4. 커서 페이지 - (sale_date) 인덱스' AS '';
+EXPLAIN
+SELECT s.id, s.bread_id, s.quantity, s.total_price, s.sale_date FROM sales s
+WHERE s.sale_date >= @from AND s.sale_date < @to
+  AND (s.sale_date > @after_date OR (s.sale_date = @after_date AND s.id > @after_id))
+ORDER BY s.sale_date, s.id LIMIT 101;
+EXPLAIN ANALYZE
+SELECT s.id, s.bread_id, s.quantity, s.total_price, s.sale_date FROM sales s FORCE INDEX (idx_sales_sale_date)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+  AND (s.sale_date > @after_date OR (s.sale_date = @after_date AND s.id > @after_id))
+ORDER BY s.sale_date, s.id LIMIT 101;
+
+SELECT '4. 커서 페이지 - covering 인덱스만 (범위 전체 정렬)' AS '';
+EXPLAIN ANALYZE
+SELECT s.id, s.bread_id, s.quantity, s.total_price, s.sale_date FROM sales s IGNORE INDEX (idx_sales_sale_date)
+WHERE s.sale_date >= @from AND s.sale_date < @to
+  AND (s.sale_date > @after_date OR (s.sale_date = @after_date AND s.id > @after_id))
+ORDER BY s.sale_date, s.id LIMIT 101;
+
+DROP TABLE digits;
@@ -0,0 +1,33 @@
+package com.ddbb.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * 리포지토리 스텁 - 메서드 이름별로 미리 만든 결과를 그대로 반환
+ * DB 없이 서비스의 메모리 내 집계만 측정하기 위한 용도로, Mockito 호출 기록 비용이 측정에 섞이지 않습니다.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static <T> T stub(Class<T> repositoryType, Map<String, Object> results) {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> repositoryType.getSimpleName() + " stub";
+                        };
+                    }
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException("스텁에 정의되지 않은 메서드: " + method.getName());
+                    }
+                    return results.get(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,213 @@
+package com.ddbb.benchmark;
+
+import com.ddbb.entity.management.Bread;
+import com.ddbb.entity.management.Inventory;
+import com.ddbb.entity.management.Sales;
+import com.ddbb.repository.management.projection.DailyBreadSales;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 합성 판매 데이터
+ * - 빵 BREAD_COUNT종, 오늘까지 최근 DAYS일, 인기 빵에 판매가 몰리도록 편중
+ * - 같은 판매 건수/시드면 항상 같은 데이터 (측정마다 입력이 달라지지 않음)
+ * - 집계(빵별, 일별, 날짜 × 빵)는 생성 시 한 번에 계산하고, 판매 엔티티 목록은 필요할 때만 생성
+ */
+public final class SyntheticSalesData {
+
+    public static final int BREAD_COUNT = 500;
+    public static final int DAYS = 90;
+
+    private static final long SEED = 20251018L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_QUANTITY = 5;
+
+    private final int salesCount;
+    private final LocalDate firstDay;
+    private final List<Bread> breads = new ArrayList<>(BREAD_COUNT);
+    private final long[] prices = new long[BREAD_COUNT];
+
+    // [bread * DAYS + day] 별 판매 수량 / 매출 (원)
+    private final long[] quantities = new long[BREAD_COUNT * DAYS];
+    private final long[] revenues = new long[BREAD_COUNT * DAYS];
+
+    public SyntheticSalesData(int salesCount) {
+        this.salesCount = salesCount;
+        this.firstDay = LocalDate.now().minusDays(DAYS - 1);
+
+        for (int i = 0; i < BREAD_COUNT; i++) {
+            prices[i] = 1500 + (i % 30) * 100L;
+            breads.add(Bread.builder()
+                    .id(i + 1L)
+                    .name("빵 " + (i + 1))
+                    .price(BigDecimal.valueOf(prices[i]))
+                    .build());
+        }
+
+        forEachSale((bread, day, minute, quantity) -> {
+            quantities[bread * DAYS + day] += quantity;
+            revenues[bread * DAYS + day] += prices[bread] * quantity;
+        });
+    }
+
+    public int getSalesCount() {
+        return salesCount;
+    }
+
+    public List<Bread> getBreads() {
+        return breads;
+    }
+
+    /**
+     * 판매 엔티티 목록 (빵, 판매 시각, 금액 인스턴스는 공유 - 1,000만 건도 수백 MB 수준)
+     */
+    public List<Sales> buildSales() {
+        LocalDateTime[] times = new LocalDateTime[DAYS * MINUTES_PER_DAY];
+        BigDecimal[] totals = new BigDecimal[BREAD_COUNT * MAX_QUANTITY];
+        List<Sales> sales = new ArrayList<>(salesCount);
+
+        forEachSale((bread, day, minute, quantity) -> {
+            int timeIndex = day * MINUTES_PER_DAY + minute;
+            if (times[timeIndex] == null) {
+                times[timeIndex] = firstDay.plusDays(day).atStartOfDay().plusMinutes(minute);
+            }
+            int totalIndex = bread * MAX_QUANTITY + quantity - 1;
+            if (totals[totalIndex] == null) {
+                totals[totalIndex] = BigDecimal.valueOf(prices[bread] * quantity);
+            }
+            sales.add(Sales.builder()
+                    .id((long) sales.size() + 1)
+                    .bread(breads.get(bread))
+                    .quantity(quantity)
+                    .totalPrice(totals[totalIndex])
+                    .saleDate(times[timeIndex])
+                    .stockApplied(true)
+                    .build());
+        });
+        return sales;
+    }
+
+    /**
+     * 빵별 재고 (일부는 품절/부족, 일부는 넉넉하게)
+     */
+    public List<Inventory> buildInventories() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Inventory> inventories = new ArrayList<>(BREAD_COUNT);
+        for (Bread bread : breads) {
+            inventories.add(Inventory.builder()
+                    .id(bread.getId())
+                    .bread(bread)
+                    .quantity(random.nextInt(61))
+                    .minStockLevel(10)
+                    .build());
+        }
+        return inventories;
+    }
+
+    /**
+     * SalesRepository.findSalesSummaryByPeriod 결과와 같은 형태 (breadId, breadName, 수량, 매출 - 수량 내림차순)
+     */
+    public List<Object[]> salesSummaryRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int bread = 0; bread < BREAD_COUNT; bread++) {
+            long quantity = 0;
+            long revenue = 0;
+            for (int day = 0; day < DAYS; day++) {
+                quantity += quantities[bread * DAYS + day];
+                revenue += revenues[bread * DAYS + day];
+            }
+            if (quantity > 0) {
+                Bread entity = breads.get(bread);
+                rows.add(new Object[]{entity.getId(), entity.getName(), quantity, BigDecimal.valueOf(revenue)});
+            }
+        }
+        rows.sort(Comparator.comparingLong((Object[] row) -> (Long) row[2]).reversed());
+        return rows;
+    }
+
+    /**
+     * SalesRepository.findDailyBreadSales 결과와 같은 형태 (from 포함, to 미포함, 날짜·빵 순)
+     */
+    public List<DailyBreadSales> dailyBreadSales(LocalDate from, LocalDate to) {
+        List<DailyBreadSales> rows = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            if (date.isBefore(from) || !date.isBefore(to)) {
+                continue;
+            }
+            for (int bread = 0; bread < BREAD_COUNT; bread++) {
+                long quantity = quantities[bread * DAYS + day];
+                if (quantity > 0) {
+                    rows.add(new DailyBreadRow(date, breads.get(bread).getId(), quantity,
+                            BigDecimal.valueOf(revenues[bread * DAYS + day])));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 날짜(yyyy-MM-dd)별 판매 수량 - AIAnalysisService 의 과거 판매량 맵과 같은 형태
+     */
+    public Map<String, Integer> dailyQuantities() {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (int day = 0; day < DAYS; day++) {
+            long quantity = 0;
+            for (int bread = 0; bread < BREAD_COUNT; bread++) {
+                quantity += quantities[bread * DAYS + day];
+            }
+            totals.put(firstDay.plusDays(day).toString(), (int) quantity);
+        }
+        return totals;
+    }
+
+    private void forEachSale(SaleVisitor visitor) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < salesCount; i++) {
+            // 앞쪽 빵일수록 많이 팔림 (대략 상위 20%가 판매의 절반)
+            double skew = random.nextDouble();
+            int bread = (int) (skew * skew * BREAD_COUNT);
+            int day = random.nextInt(DAYS);
+            int minute = 7 * 60 + random.nextInt(14 * 60);
+            int quantity = 1 + random.nextInt(MAX_QUANTITY);
+            visitor.visit(bread, day, minute, quantity);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SaleVisitor {
+        void visit(int bread, int day, int minute, int quantity);
+    }
+
+    private record DailyBreadRow(LocalDate saleDate, Long breadId, Long quantity, BigDecimal revenue)
+            implements DailyBreadSales {
+
+        @Override
+        public LocalDate getSaleDate() {
+            return saleDate;
+        }
+
+        @Override
+        public Long getBreadId() {
+            return breadId;
+        }
+
+        @Override
+        public Long getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+    }
+}
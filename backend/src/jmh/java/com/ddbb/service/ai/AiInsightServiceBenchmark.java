@@ -0,0 +1,56 @@
+package com.ddbb.service.ai;
+
+import com.ddbb.benchmark.SyntheticSalesData;
+import com.ddbb.entity.management.Inventory;
+import com.ddbb.entity.management.Sales;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AiInsightService 판매/재고 분석
+ * - analyseSales: 판매 엔티티 목록을 직접 순회하므로 판매 건수에 비례
+ *   (운영에서는 오늘 판매만 들어오지만, 여기서는 전체 합성 데이터를 한 번에 넣어 최악의 경우를 측정)
+ * - analyseInventory: 입력은 빵 종류 수(SyntheticSalesData.BREAD_COUNT)만큼의 재고로 판매 건수와 무관
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AiInsightServiceBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int salesCount;
+
+    private AiInsightService aiInsightService;
+    private List<Sales> sales;
+    private List<Inventory> inventories;
+    private LocalDateTime oneHourAgo;
+
+    @Setup
+    public void setUp() {
+        SyntheticSalesData data = new SyntheticSalesData(salesCount);
+        sales = data.buildSales();
+        inventories = data.buildInventories();
+        oneHourAgo = LocalDateTime.now().minusHours(1);
+        aiInsightService = new AiInsightService(null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Object analyseSales() {
+        return aiInsightService.analyseSales(sales, oneHourAgo);
+    }
+
+    @Benchmark
+    public Object analyseInventory() {
+        return aiInsightService.analyseInventory(inventories);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ddbb.service.aidashboard;
+
+import com.ddbb.benchmark.RepositoryStubs;
+import com.ddbb.benchmark.SyntheticSalesData;
+import com.ddbb.dto.aidashboard.DashboardChartDto;
+import com.ddbb.repository.management.BreadRepository;
+import com.ddbb.repository.management.SalesRepository;
+import com.ddbb.service.management.BreadCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardAIService.generateChartData - 최근 7일 (날짜 × 빵) 집계 행을 일별/빵별 차트 데이터로 그룹핑
+ * 입력 행 수는 7일 × 판매된 빵 종류 수로 제한됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DashboardAIServiceBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int salesCount;
+
+    private DashboardAIService dashboardAIService;
+
+    @Setup
+    public void setUp() {
+        SyntheticSalesData data = new SyntheticSalesData(salesCount);
+        LocalDate today = LocalDate.now();
+
+        SalesRepository salesRepository = RepositoryStubs.stub(SalesRepository.class,
+                Map.of("findDailyBreadSales", data.dailyBreadSales(today.minusDays(7), today)));
+        BreadRepository breadRepository = RepositoryStubs.stub(BreadRepository.class,
+                Map.of("findAllById", data.getBreads()));
+
+        BreadCatalog breadCatalog = new BreadCatalog(breadRepository, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(10));
+
+        dashboardAIService = new DashboardAIService(salesRepository, breadCatalog,
+                null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public DashboardChartDto generateChartData() {
+        return dashboardAIService.generateChartData();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ddbb.service.management;
+
+import com.ddbb.benchmark.SyntheticSalesData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIAnalysisService 통계 예측(LLM 실패 시 백업)과 판매량 예측 신뢰도 계산
+ * 입력은 일별 판매량 맵(SyntheticSalesData.DAYS일)이며, 판매 건수는 일별 값의 크기와 분포에만 영향을 줍니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AIAnalysisServiceBenchmark {
+
+    private static final int PREDICTION_DAYS = 7;
+
+    @Param({"10000", "1000000", "10000000"})
+    private int salesCount;
+
+    private AIAnalysisService aiAnalysisService;
+    private Map<String, Integer> historicalSales;
+    private Map<String, Integer> predictedSales;
+
+    @Setup
+    public void setUp() {
+        historicalSales = new SyntheticSalesData(salesCount).dailyQuantities();
+        aiAnalysisService = new AIAnalysisService(null, null, null, null, null, null, null, null);
+        predictedSales = aiAnalysisService.generatePredictions(historicalSales, PREDICTION_DAYS);
+    }
+
+    @Benchmark
+    public Map<String, Integer> generatePredictions() {
+        return aiAnalysisService.generatePredictions(historicalSales, PREDICTION_DAYS);
+    }
+
+    @Benchmark
+    public double calculateSalesConfidence() {
+        return aiAnalysisService.calculateSalesConfidence(historicalSales, predictedSales);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ddbb.service.management;
+
+import com.ddbb.benchmark.RepositoryStubs;
+import com.ddbb.benchmark.SyntheticSalesData;
+import com.ddbb.dto.management.SalesStatisticsResponse;
+import com.ddbb.repository.management.SalesRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalesService.getSalesStatistics - 기간 요약 쿼리 결과(빵별 합계)를 통계 응답으로 변환
+ * 합계는 DB GROUP BY 가 계산하므로 JVM 쪽 입력은 판매 건수가 아니라 판매된 빵 종류 수에 비례합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SalesServiceBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int salesCount;
+
+    private SalesService salesService;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    @Setup
+    public void setUp() {
+        SyntheticSalesData data = new SyntheticSalesData(salesCount);
+        SalesRepository salesRepository = RepositoryStubs.stub(SalesRepository.class,
+                Map.of("findSalesSummaryByPeriod", data.salesSummaryRows()));
+        salesService = new SalesService(salesRepository, null, null, null, null, null);
+        endDate = LocalDateTime.now();
+        startDate = endDate.minusDays(SyntheticSalesData.DAYS);
+    }
+
+    @Benchmark
+    public SalesStatisticsResponse getSalesStatistics() {
+        return salesService.getSalesStatistics(startDate, endDate);
+    }
+}
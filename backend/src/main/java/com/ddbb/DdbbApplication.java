@@ -4,13 +4,19 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.TimeZone;
 
 @SpringBootApplication
 @EntityScan(basePackages = "com.ddbb.entity.management")
 @EnableJpaRepositories(basePackages = "com.ddbb.repository.management")
+@EnableScheduling
 public class DdbbApplication {
 
 	public static void main(String[] args) {
+		// 판매 일자 집계/LocalDateTime.now() 모두 서울 기준
+		TimeZone.setDefault(TimeZone.getTimeZone("Asia/Seoul"));
 		SpringApplication.run(DdbbApplication.class, args);
 	}
 
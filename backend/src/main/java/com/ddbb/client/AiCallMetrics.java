@@ -0,0 +1,65 @@
+package com.ddbb.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 메트릭 (Gemini, LangChain4j 예측)
+ * - ai.calls{provider, operation, outcome}: 호출 시간 (p99 확인용 히스토그램)
+ * - ai.tokens{provider, operation, type}: 호출당 토큰 사용량
+ * - ai.fallbacks{provider, operation, reason}: 통계/기본 응답으로 대체된 횟수 (ai.calls 대비 비율이 대체율)
+ * OpenAiChatClient 호출은 openai.chat.* 로 따로 기록하고, 대체 횟수만 여기에 기록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AiCallMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 호출 시간을 기록하며 실행 (예외는 그대로 전달)
+     */
+    public <T> T record(String provider, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("ai.calls")
+                    .description("LLM 호출 시간")
+                    .tag("provider", provider)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void tokens(String provider, String operation, String type, long count) {
+        DistributionSummary.builder("ai.tokens")
+                .description("LLM 호출당 토큰 사용량")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    public void fallback(String provider, String operation, String reason) {
+        Counter.builder("ai.fallbacks")
+                .description("LLM 응답 대신 대체 로직을 사용한 횟수")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -25,6 +25,8 @@ public class GeminiClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final OutboundCallGuard outboundCallGuard;
+    private final AiCallMetrics aiCallMetrics;
 
     @Value("${google.api.key:}")
     private String googleApiKey;
@@ -46,7 +48,9 @@ public class GeminiClient {
             String payload = objectMapper.writeValueAsString(body);
             HttpEntity<String> requestEntity = new HttpEntity<>(payload, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(requestUrl, requestEntity, String.class);
+            outboundCallGuard.beforeOutboundCall("gemini");
+            ResponseEntity<String> response = aiCallMetrics.record("gemini", "insights",
+                    () -> restTemplate.postForEntity(requestUrl, requestEntity, String.class));
             String responseBody = response.getBody();
 
             if (responseBody == null || responseBody.isBlank()) {
@@ -54,6 +58,7 @@ public class GeminiClient {
             }
 
             JsonNode root = objectMapper.readTree(responseBody);
+            recordUsage(root.path("usageMetadata"));
             JsonNode textNode = root.path("candidates")
                     .path(0)
                     .path("content")
@@ -72,6 +77,15 @@ public class GeminiClient {
         }
     }
 
+    private void recordUsage(JsonNode usageMetadata) {
+        if (usageMetadata.path("promptTokenCount").isNumber()) {
+            aiCallMetrics.tokens("gemini", "insights", "prompt", usageMetadata.path("promptTokenCount").asLong());
+        }
+        if (usageMetadata.path("candidatesTokenCount").isNumber()) {
+            aiCallMetrics.tokens("gemini", "insights", "completion", usageMetadata.path("candidatesTokenCount").asLong());
+        }
+    }
+
     private String resolveApiKey() {
         if (googleApiKey != null && !googleApiKey.isBlank()) {
             return googleApiKey;
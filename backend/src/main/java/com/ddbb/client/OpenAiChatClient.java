@@ -0,0 +1,126 @@
+package com.ddbb.client;
+
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI Chat Completion 공용 클라이언트
+ * - 공유 OpenAiService(커넥션 풀 재사용) 사용
+ * - 동시 호출 수 제한 (초과 시 acquire-timeout 동안 대기 후 거절)
+ * - 호출 시간/결과, 토큰 사용량, 대기/거절 메트릭 (openai.chat.*)
+ */
+@Slf4j
+@Component
+public class OpenAiChatClient {
+
+    private static final String MODEL = "gpt-4o-mini";
+
+    private final OpenAiService openAiService;
+    private final MeterRegistry meterRegistry;
+    private final OutboundCallGuard outboundCallGuard;
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public OpenAiChatClient(OpenAiService openAiService,
+                            MeterRegistry meterRegistry,
+                            OutboundCallGuard outboundCallGuard,
+                            @Value("${openai.client.max-concurrent-requests:4}") int maxConcurrentRequests,
+                            @Value("${openai.client.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        this.openAiService = openAiService;
+        this.meterRegistry = meterRegistry;
+        this.outboundCallGuard = outboundCallGuard;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+
+        Gauge.builder("openai.chat.in_flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .description("진행 중인 OpenAI 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("openai.chat.queued", permits, Semaphore::getQueueLength)
+                .description("동시 호출 제한으로 대기 중인 OpenAI 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 시스템/사용자 메시지로 Chat Completion을 호출하고 첫 번째 응답 내용을 반환
+     *
+     * @param caller 메트릭 태그용 호출자 이름
+     */
+    public String chat(String caller, String systemPrompt, String userPrompt, double temperature, int maxTokens) {
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(MODEL)
+                .messages(List.of(new ChatMessage("system", systemPrompt), new ChatMessage("user", userPrompt)))
+                .temperature(temperature)
+                .maxTokens(maxTokens)
+                .build();
+
+        outboundCallGuard.beforeOutboundCall("openai");
+        acquire(caller);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ChatCompletionResult result = openAiService.createChatCompletion(request);
+            recordUsage(caller, result.getUsage());
+            outcome = "success";
+            return result.getChoices().get(0).getMessage().getContent();
+        } finally {
+            permits.release();
+            sample.stop(Timer.builder("openai.chat.requests")
+                    .description("OpenAI Chat Completion 호출 시간")
+                    .tag("caller", caller)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private void acquire(String caller) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 호출 대기 중 인터럽트가 발생했습니다.", e);
+        }
+
+        if (!acquired) {
+            Counter.builder("openai.chat.rejected")
+                    .description("동시 호출 제한으로 거절된 OpenAI 호출 수")
+                    .tag("caller", caller)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("OpenAI 동시 호출 제한 초과 - caller: {}", caller);
+            throw new RuntimeException("AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void recordUsage(String caller, Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        tokens(caller, "prompt").record(usage.getPromptTokens());
+        tokens(caller, "completion").record(usage.getCompletionTokens());
+    }
+
+    private DistributionSummary tokens(String caller, String type) {
+        return DistributionSummary.builder("openai.chat.tokens")
+                .description("OpenAI 호출당 토큰 사용량")
+                .tag("caller", caller)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ddbb.client;
+
+import com.ddbb.config.ConnectionMetricsDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 호출(LLM, 날씨 API) 직전에 현재 스레드가 DB 커넥션을 잡고 있지 않은지 확인
+ * 수십 초 걸리는 외부 호출 동안 커넥션을 보유하면 풀이 고갈되므로,
+ * 위반 시 db.connections.held_across_outbound{target, endpoint} 를 올리고 경고를 남깁니다.
+ * db.connection-guard.fail-fast=true 이면 호출 자체를 막습니다. (개발/테스트용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboundCallGuard {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${db.connection-guard.fail-fast:false}")
+    private boolean failFast;
+
+    /**
+     * @param target 메트릭 태그용 외부 호출 이름 (openai, gemini, weather 등)
+     */
+    public void beforeOutboundCall(String target) {
+        int held = ConnectionMetricsDataSource.heldByCurrentThread();
+        if (held == 0) {
+            return;
+        }
+
+        String endpoint = ConnectionMetricsDataSource.currentEndpoint();
+        Counter.builder("db.connections.held_across_outbound")
+                .description("DB 커넥션을 보유한 채 시작된 외부 호출 수")
+                .tag("target", target)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        log.warn("DB 커넥션 {}개를 보유한 채 외부 호출 - target: {}, endpoint: {}", held, target, endpoint);
+
+        if (failFast) {
+            throw new IllegalStateException("DB 커넥션을 반납한 뒤 외부 호출을 해야 합니다. target: " + target);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ddbb.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * AI 예측 호출용 스레드 풀 설정
+ * LangChain4j 예측(판매량/수익/빵별)을 병렬로 실행하되, 동시에 실행되는 호출 수를 제한합니다.
+ * 이 빈이 있어도 기본 applicationTaskExecutor 가 만들어지도록 spring.task.execution.mode=force 를 사용하며,
+ * AIAnalysisService 는 이 풀을 빈 이름(aiPredictionExecutor)으로 주입받습니다.
+ */
+@Configuration
+public class AiExecutorConfig {
+
+    @Value("${ai.prediction.pool-size:6}")
+    private int poolSize;
+
+    @Value("${ai.prediction.queue-capacity:12}")
+    private int queueCapacity;
+
+    /**
+     * 큐까지 가득 차면 TaskRejectedException으로 즉시 거절되고, 호출 측은 통계 예측으로 대체합니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor aiPredictionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-prediction-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
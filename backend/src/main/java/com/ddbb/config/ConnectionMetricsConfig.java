@@ -0,0 +1,34 @@
+package com.ddbb.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 획득/사용 시간 메트릭 설정
+ * 풀(Hikari) DataSource를 ConnectionMetricsDataSource로 감쌉니다. 풀 자체 지표는 hikaricp.* 메트릭으로 제공됩니다.
+ */
+@Configuration
+public class ConnectionMetricsConfig {
+
+    /**
+     * static - 다른 빈보다 먼저 등록되어야 DataSource 생성 시점에 적용됩니다.
+     */
+    @Bean
+    public static BeanPostProcessor connectionMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionMetricsDataSource)) {
+                    return new ConnectionMetricsDataSource(dataSource, meterRegistryProvider);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.ddbb.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 커넥션 획득/사용 시간 측정 DataSource
+ * - db.connection.acquire: getConnection 대기 시간 (풀 고갈 확인용)
+ * - db.connection.usage: 획득부터 close(풀 반납)까지 보유 시간
+ * 두 타이머 모두 커넥션을 요청한 컨트롤러 엔드포인트(endpoint="GET /api/...")로 태그하며,
+ * 요청 스레드가 아니면 endpoint="none" 입니다.
+ * 엔드포인트 수만큼 시계열이 생기므로 백분위 히스토그램 대신 고정 버킷만 내보냅니다.
+ * (acquire: connection-timeout 3s 이전 구간, usage: leak-detection 10s 까지)
+ *
+ * 스레드별로 아직 반납하지 않은 커넥션을 기록하므로 외부 호출 직전에 커넥션을 잡고 있는지 확인할 수 있습니다. (heldByCurrentThread)
+ * 반납은 어느 스레드에서 close 하든 커넥션을 얻은 스레드의 기록에서 빠지며,
+ * close 없이 버려진(GC된) 커넥션도 약한 참조로 보관하므로 기록에 남지 않습니다.
+ */
+public class ConnectionMetricsDataSource extends DelegatingDataSource {
+
+    private static final String NO_ENDPOINT = "none";
+    private static final Duration[] ACQUIRE_BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1)};
+    private static final Duration[] USAGE_BUCKETS = {
+            Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10)};
+    private static final ThreadLocal<Set<Connection>> HELD =
+            ThreadLocal.withInitial(() -> Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>())));
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public ConnectionMetricsDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        super(targetDataSource);
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    /**
+     * 현재 스레드가 반납하지 않은 커넥션 수
+     */
+    public static int heldByCurrentThread() {
+        return HELD.get().size();
+    }
+
+    /**
+     * 현재 요청의 컨트롤러 엔드포인트 (요청 스레드가 아니면 "none")
+     */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NO_ENDPOINT;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long startedAt = System.nanoTime();
+        return track(obtainTargetDataSource().getConnection(), startedAt);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long startedAt = System.nanoTime();
+        return track(obtainTargetDataSource().getConnection(username, password), startedAt);
+    }
+
+    private Connection track(Connection connection, long startedAt) {
+        long acquiredAt = System.nanoTime();
+        String endpoint = currentEndpoint();
+        record("db.connection.acquire", "커넥션 풀에서 커넥션을 얻기까지 걸린 시간", ACQUIRE_BUCKETS, endpoint,
+                acquiredAt - startedAt);
+        Set<Connection> held = HELD.get();
+
+        Connection tracked = (Connection) Proxy.newProxyInstance(
+                ConnectionMetricsDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new TrackedConnection(connection, endpoint, acquiredAt, held));
+        held.add(tracked);
+        return tracked;
+    }
+
+    private void record(String name, String description, Duration[] buckets, String endpoint, long nanos) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint)
+                .serviceLevelObjectives(buckets)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private final class TrackedConnection implements InvocationHandler {
+
+        private final Connection target;
+        private final String endpoint;
+        private final long acquiredAt;
+        /** 커넥션을 얻은 스레드의 보유 목록 - 다른 스레드에서 close 해도 여기서 뺌 */
+        private final Set<Connection> ownerHeld;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private TrackedConnection(Connection target, String endpoint, long acquiredAt, Set<Connection> ownerHeld) {
+            this.target = target;
+            this.endpoint = endpoint;
+            this.acquiredAt = acquiredAt;
+            this.ownerHeld = ownerHeld;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            // 보유 목록(WeakHashMap)의 키로 쓰이므로 equals/hashCode 는 프록시 자신의 동일성 기준
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("close".equals(name) && closed.compareAndSet(false, true)) {
+                ownerHeld.remove(proxy);
+                record("db.connection.usage", "커넥션을 반납하기까지 보유한 시간", USAGE_BUCKETS, endpoint,
+                        System.nanoTime() - acquiredAt);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
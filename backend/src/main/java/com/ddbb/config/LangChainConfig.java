@@ -1,7 +1,11 @@
 package com.ddbb.config;
 
+import com.ddbb.client.AiCallMetrics;
 import com.ddbb.service.management.SalesPredictionAI;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import dev.langchain4j.service.AiServices;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +14,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * LangChain4j 설정
@@ -24,9 +29,10 @@ public class LangChainConfig {
     
     /**
      * OpenAI Chat Model 빈
+     * 재시도를 포함한 응답마다 토큰 사용량을 ai.tokens{provider=langchain4j} 로 기록
      */
     @Bean
-    public ChatLanguageModel chatLanguageModel() {
+    public ChatLanguageModel chatLanguageModel(AiCallMetrics aiCallMetrics) {
         log.info("🚀 LangChain4j ChatLanguageModel Bean 생성 시작");
         try {
             ChatLanguageModel model = OpenAiChatModel.builder()
@@ -37,6 +43,7 @@ public class LangChainConfig {
                     .maxRetries(3)
                     .logRequests(true)
                     .logResponses(true)
+                    .listeners(List.of(tokenUsageListener(aiCallMetrics)))
                     .build();
             log.info("✅ ChatLanguageModel Bean 생성 완료");
             return model;
@@ -63,5 +70,22 @@ public class LangChainConfig {
             throw e;
         }
     }
+    
+    private ChatModelListener tokenUsageListener(AiCallMetrics aiCallMetrics) {
+        return new ChatModelListener() {
+            @Override
+            public void onResponse(ChatModelResponseContext responseContext) {
+                TokenUsage usage = responseContext.response().tokenUsage();
+                if (usage == null) {
+                    return;
+                }
+                if (usage.inputTokenCount() != null) {
+                    aiCallMetrics.tokens("langchain4j", "sales-prediction", "prompt", usage.inputTokenCount());
+                }
+                if (usage.outputTokenCount() != null) {
+                    aiCallMetrics.tokens("langchain4j", "sales-prediction", "completion", usage.outputTokenCount());
+                }
+            }
+        };
+    }
 }
-
@@ -0,0 +1,61 @@
+package com.ddbb.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 클라이언트 설정
+ * OkHttp 클라이언트/커넥션 풀/Retrofit을 프로세스당 한 번만 생성해 TLS 연결을 재사용합니다.
+ */
+@Slf4j
+@Configuration
+public class OpenAiClientConfig {
+
+    @Value("${openai.api.key}")
+    private String openaiApiKey;
+
+    @Value("${openai.client.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${openai.client.connect-timeout-seconds:5}")
+    private long connectTimeoutSeconds;
+
+    @Value("${openai.client.max-idle-connections:8}")
+    private int maxIdleConnections;
+
+    @Value("${openai.client.keep-alive-minutes:5}")
+    private long keepAliveMinutes;
+
+    /**
+     * 공유 OpenAiService 빈
+     * 기본 클라이언트는 유휴 연결을 1초 만에 닫으므로 keep-alive를 늘린 커넥션 풀로 교체합니다.
+     */
+    @Bean(destroyMethod = "shutdownExecutor")
+    public OpenAiService openAiService() {
+        OkHttpClient client = OpenAiService.defaultClient(openaiApiKey, Duration.ofSeconds(timeoutSeconds))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES))
+                .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        Retrofit retrofit = OpenAiService.defaultRetrofit(client, mapper);
+        OpenAiApi api = retrofit.create(OpenAiApi.class);
+
+        log.info("OpenAiService 빈 생성 - 유휴 연결: {}, keep-alive: {}분, 타임아웃: {}초",
+                maxIdleConnections, keepAliveMinutes, timeoutSeconds);
+        return new OpenAiService(api, client.dispatcher().executorService());
+    }
+}
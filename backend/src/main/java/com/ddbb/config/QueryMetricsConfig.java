@@ -0,0 +1,45 @@
+package com.ddbb.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SQL 실행 메트릭 / 느린 쿼리 로그 설정 (db.query-metrics.enabled=true 일 때)
+ * DataSource 빈을 datasource-proxy로 감싸 JPA, JdbcTemplate, Flyway의 모든 SQL을 측정합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.query-metrics.enabled", havingValue = "true")
+public class QueryMetricsConfig {
+
+    /**
+     * static - 다른 빈보다 먼저 등록되어야 DataSource 생성 시점에 적용됩니다.
+     */
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${db.query-metrics.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${db.query-metrics.max-fingerprints:200}") int maxFingerprints) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryMetricsListener(meterRegistryProvider, slowThreshold, maxFingerprints))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.ddbb.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 실행 시간 측정 + 느린 쿼리 로그 (datasource-proxy 리스너)
+ * - 리터럴/IN 목록/공백을 정규화한 지문(fingerprint)별로 db.query 타이머 기록
+ * - 메트릭 태그에는 SQL 대신 지문의 짧은 해시(query=SHA-1 앞 10자리)만 싣고,
+ *   해시와 SQL의 대응은 지문을 처음 볼 때와 느린 쿼리 로그에 남깁니다. (로거 ddbb.slow-query)
+ * - slow-threshold 이상 걸린 쿼리는 한 줄로 기록 (바인딩 값은 남기지 않음)
+ *
+ * 카디널리티 제한
+ * - 지문 종류가 max-fingerprints를 넘으면 이후 새 지문은 query=other 로 묶습니다.
+ * - 백분위 히스토그램 대신 고정 버킷(10ms, 50ms, slow-threshold, 1s)만 내보냅니다.
+ */
+@Slf4j(topic = "ddbb.slow-query")
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final String OTHER = "other";
+    private static final int QUERY_ID_LENGTH = 10;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST =
+            Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final long slowThresholdMillis;
+    private final int maxFingerprints;
+    private final Duration[] latencyBuckets;
+    /** 원본 SQL → 지문 (IN 목록 길이만 다른 SQL이 많아 지문 수의 몇 배까지만 보관, 넘치면 매번 정규화) */
+    private final ConcurrentHashMap<String, String> fingerprintsBySql = new ConcurrentHashMap<>();
+    /** 지문 → 메트릭에 쓰는 짧은 해시 */
+    private final ConcurrentHashMap<String, String> queryIds = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                Duration slowThreshold,
+                                int maxFingerprints) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.maxFingerprints = maxFingerprints;
+        this.latencyBuckets = new TreeSet<>(List.of(Duration.ofMillis(10), Duration.ofMillis(50),
+                slowThreshold, Duration.ofSeconds(1))).toArray(Duration[]::new);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+
+        String sql = queryInfoList.get(0).getQuery();
+        String fingerprint = fingerprintOf(sql);
+        String queryId = queryIdOf(fingerprint);
+        long elapsedMillis = execInfo.getElapsedTime();
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Timer.builder("db.query")
+                    .description("SQL 실행 시간 (지문 해시별)")
+                    .tag("query", queryId)
+                    .tag("batch", String.valueOf(execInfo.isBatch()))
+                    .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                    .serviceLevelObjectives(latencyBuckets)
+                    .register(meterRegistry)
+                    .record(elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        if (elapsedMillis >= slowThresholdMillis) {
+            log.warn("slow_query elapsed_ms={} batch={} batch_size={} success={} query={} fingerprint=\"{}\"",
+                    elapsedMillis, execInfo.isBatch(), execInfo.getBatchSize(), execInfo.isSuccess(),
+                    queryId, fingerprint);
+        }
+    }
+
+    private String fingerprintOf(String sql) {
+        String fingerprint = fingerprintsBySql.get(sql);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        fingerprint = normalize(sql);
+        if (fingerprintsBySql.size() < maxFingerprints * 4) {
+            fingerprintsBySql.putIfAbsent(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private String queryIdOf(String fingerprint) {
+        String queryId = queryIds.get(fingerprint);
+        if (queryId != null) {
+            return queryId;
+        }
+        if (queryIds.size() >= maxFingerprints) {
+            return OTHER;
+        }
+        return queryIds.computeIfAbsent(fingerprint, f -> {
+            String id = queryId(f);
+            log.info("query_fingerprint query={} fingerprint=\"{}\"", id, f);
+            return id;
+        });
+    }
+
+    /**
+     * 지문의 짧은 해시 - 재시작/인스턴스와 상관없이 같은 지문이면 같은 값
+     */
+    static String queryId(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, QUERY_ID_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 지문 생성 - 같은 형태의 쿼리가 같은 문자열이 되도록 정규화
+     * 예) select ... where id in (?, ?, ?) and name = 'a' → select ... where id in (?+) and name = ?
+     *     (IN 목록은 원소 수와 상관없이 같은 지문 - 한 개짜리 in (?) 포함)
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?+)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -27,6 +27,8 @@ public class SecurityConfig {
                 .requestMatchers("/", "/index.html",
                                  "/css/**", "/js/**", "/images/**", "/favicon.ico",
                                  "/webjars/**").permitAll()
+                // 헬스체크/Prometheus 스크레이프
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // API도 개발 중엔 오픈(필요시 authenticated로 바꾸세요)
                 .requestMatchers("/api/**").permitAll()
                 // 그 외 전부 허용(개발 확인용)
@@ -0,0 +1,25 @@
+package com.ddbb.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 트랜잭션 설정
+ * open-in-view=false 이므로 요청 스레드는 트랜잭션 밖에서 커넥션을 잡고 있지 않습니다.
+ * AI 분석처럼 외부 호출이 긴 작업은 이 템플릿으로 필요한 데이터만 짧게 읽은 뒤(스냅샷) 트랜잭션 밖에서 호출합니다.
+ */
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * 읽기 전용 스냅샷용 트랜잭션 템플릿 (MySQL REPEATABLE READ - 여러 조회가 같은 시점의 데이터를 봄)
+     */
+    @Bean
+    public TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
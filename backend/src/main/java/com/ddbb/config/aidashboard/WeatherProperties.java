@@ -0,0 +1,65 @@
+package com.ddbb.config.aidashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 날씨 조회 설정 (weather.*)
+ * 지점(매장)별 좌표와 캐시/배치 조회 옵션
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather")
+public class WeatherProperties {
+
+    /**
+     * 지점을 지정하지 않았을 때 사용할 지점 ID
+     */
+    private String defaultLocation = "seoul";
+
+    /**
+     * 같은 격자(도 단위)에 속한 지점은 한 번만 조회 (0.1 ≒ 11km)
+     */
+    private double gridResolution = 0.1;
+
+    /**
+     * open-meteo 다중 좌표 요청 1회당 최대 좌표 수
+     */
+    private int batchSize = 50;
+
+    /**
+     * 이보다 오래된 값이면 백그라운드 갱신 요청
+     */
+    private long maxAgeMs = 1_800_000L;
+
+    /**
+     * 같은 격자의 요청 시점 재조회 최소 간격 (장애 시 외부 API 폭주 방지)
+     */
+    private long retryIntervalMs = 60_000L;
+
+    private List<Location> locations = new ArrayList<>(List.of(
+            new Location("seoul", "서울", 37.5665, 126.9780)));
+
+    public Optional<Location> findLocation(String id) {
+        return locations.stream()
+                .filter(location -> location.getId().equals(id))
+                .findFirst();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Location {
+        private String id;
+        private String name;
+        private double latitude;
+        private double longitude;
+    }
+}
@@ -4,8 +4,10 @@ import com.ddbb.service.aidashboard.WeatherService;
 import com.ddbb.service.aidashboard.WeatherService.WeatherSummary;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -18,9 +20,28 @@ public class WeatherController {
         this.weatherService = weatherService;
     }
 
+    /**
+     * 지점별 오늘 날씨 (location 생략 시 기본 지점)
+     */
     @GetMapping("/today")
-    public Map<String, Object> getTodayWeather() {
-        WeatherSummary summary = weatherService.fetchSeoulWeather();
+    public Map<String, Object> getTodayWeather(@RequestParam(required = false) String location) {
+        WeatherSummary summary = location != null
+                ? weatherService.fetchWeather(location)
+                : weatherService.fetchSeoulWeather();
+        return toResponse(summary);
+    }
+
+    /**
+     * 등록된 모든 지점의 오늘 날씨 (지점 ID → 날씨)
+     */
+    @GetMapping("/locations")
+    public Map<String, Map<String, Object>> getAllLocationsWeather() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        weatherService.fetchAllWeather().forEach((locationId, summary) -> result.put(locationId, toResponse(summary)));
+        return result;
+    }
+
+    private Map<String, Object> toResponse(WeatherSummary summary) {
         if (summary.success()) {
             return Map.of(
                     "weather", summary.summary(),
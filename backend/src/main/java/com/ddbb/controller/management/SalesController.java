@@ -1,16 +1,31 @@
 package com.ddbb.controller.management;
 
 import com.ddbb.dto.management.*;
+import com.ddbb.service.management.SalesExportLimiter;
+import com.ddbb.service.management.SalesRollupService;
 import com.ddbb.service.management.SalesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/sales")
@@ -19,6 +34,9 @@ import java.util.List;
 public class SalesController {
     
     private final SalesService salesService;
+    private final SalesExportLimiter salesExportLimiter;
+    private final SalesRollupService salesRollupService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 판매 기록 생성
@@ -55,6 +73,70 @@ public class SalesController {
         return ResponseEntity.ok(sales);
     }
     
+    /**
+     * 기간별 판매 내역 커서 페이지 조회
+     * GET /api/sales/page?startDate=...&endDate=...&cursor=...&size=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<SalesPageResponse> getSalesPage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(salesService.getSalesPage(null, startDate, endDate, cursor, size));
+    }
+    
+    /**
+     * 특정 빵의 기간별 판매 내역 커서 페이지 조회
+     * GET /api/sales/bread/{breadId}/page?startDate=...&endDate=...&cursor=...&size=...
+     */
+    @GetMapping("/bread/{breadId}/page")
+    public ResponseEntity<SalesPageResponse> getSalesPageByBread(
+            @PathVariable Long breadId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(salesService.getSalesPage(breadId, startDate, endDate, cursor, size));
+    }
+    
+    /**
+     * 기간별 판매 내역 내보내기 (NDJSON - 한 줄에 판매 1건)
+     * GET /api/sales/export?startDate=...&endDate=...&breadId=...
+     * 동시 내보내기 수를 넘으면 429 로 바로 거절합니다. (sales.export.max-concurrent)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long breadId) {
+        if (!salesExportLimiter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        ObjectWriter salesWriter = objectMapper.writerFor(SalesResponse.class);
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                salesService.exportSales(breadId, startDate, endDate, sale -> {
+                    try {
+                        writer.write(salesWriter.writeValueAsString(sale));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } finally {
+                salesExportLimiter.release();
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
     /**
      * 기간별 판매 요약 (빵별 집계) - 그래프용
      * GET /api/sales/summary?startDate=...&endDate=...
@@ -121,5 +203,19 @@ public class SalesController {
         List<DailySalesResponse> monthlyStats = salesService.getMonthlySalesStatistics();
         return ResponseEntity.ok(monthlyStats);
     }
+    
+    /**
+     * 일별 판매 집계 재계산 (백필)
+     * POST /api/sales/rollup/rebuild?startDate=...&endDate=...
+     * 기간을 생략하면 전체 판매 기록을 기준으로 다시 계산합니다.
+     */
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildDailyRollup(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        int rows = (startDate != null && endDate != null)
+                ? salesRollupService.rebuild(startDate, endDate)
+                : salesRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("rollupRows", rows));
+    }
 }
-
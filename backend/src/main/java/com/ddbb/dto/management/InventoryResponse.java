@@ -25,12 +25,19 @@ public class InventoryResponse {
     private LocalDateTime updatedAt;
     
     public static InventoryResponse from(Inventory inventory) {
+        return from(inventory, BreadResponse.from(inventory.getBread()));
+    }
+    
+    /**
+     * 빵 정보를 따로 넘겨 생성 (카탈로그 캐시 사용 시 Bread 지연 로딩 없음)
+     */
+    public static InventoryResponse from(Inventory inventory, BreadResponse bread) {
         return InventoryResponse.builder()
                 .id(inventory.getId())
-                .breadId(inventory.getBread().getId())
-                .breadName(inventory.getBread().getName())
-                .breadPrice(inventory.getBread().getPrice() != null ? inventory.getBread().getPrice().doubleValue() : 0.0)
-                .breadDescription(inventory.getBread().getDescription())
+                .breadId(bread.getId())
+                .breadName(bread.getName())
+                .breadPrice(bread.getPrice() != null ? bread.getPrice().doubleValue() : 0.0)
+                .breadDescription(bread.getDescription())
                 .quantity(inventory.getQuantity())
                 .minStockLevel(inventory.getMinStockLevel())
                 .isLowStock(inventory.getMinStockLevel() != null && inventory.getQuantity() <= inventory.getMinStockLevel())
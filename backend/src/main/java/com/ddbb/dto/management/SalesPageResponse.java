@@ -0,0 +1,22 @@
+package com.ddbb.dto.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 판매 내역 커서 페이지 (sale_date, id 순)
+ * 다음 페이지는 nextCursor 를 cursor 파라미터로 넘겨 조회합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesPageResponse {
+    private List<SalesResponse> content;
+    private String nextCursor;   // 마지막 페이지면 null
+    private boolean hasNext;
+}
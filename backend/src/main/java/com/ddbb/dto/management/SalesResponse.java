@@ -9,6 +9,10 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * 판매 내역 응답
+ * 목록 조회는 SalesRepository의 생성자 프로젝션(SALES_RESPONSE_SELECT)으로 직접 생성되므로 필드 순서를 바꾸지 마세요.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -5,11 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * 빵 (bread)
+ * 변경이 드물어 Hibernate 2차 캐시(READ_WRITE, application.conf 의 bread 영역)에 보관합니다.
+ * JPA로 수정하면 캐시도 함께 갱신되므로, bread 테이블을 SQL로 직접 수정했다면 애플리케이션을 재시작해야 합니다.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bread")
 @Table(name = "bread")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,41 @@
+package com.ddbb.entity.management;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일별 빵별 판매 집계 (daily_sales_rollup)
+ * 판매 기록 시점에 증분 갱신되며, 통계 API는 sales 대신 이 테이블을 조회합니다.
+ */
+@Entity
+@Table(name = "daily_sales_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_rollup_date_bread", columnNames = {"sale_date", "bread_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bread_id", nullable = false)
+    private Bread bread;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
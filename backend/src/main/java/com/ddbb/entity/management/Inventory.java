@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", indexes = {
+        @Index(name = "idx_inventory_bread_id", columnList = "bread_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -9,8 +9,18 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * 판매 기록 (sales)
+ * sale_date 기준 월별 파티션 테이블이므로 DB의 PK는 (id, sale_date)이고 bread 외래 키가 없습니다.
+ * id는 AUTO_INCREMENT로 발급되어 단독으로도 고유합니다. (V4__partition_sales_by_month.sql)
+ */
 @Entity
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+        @Index(name = "idx_sales_date_bread_covering", columnList = "sale_date, bread_id, quantity, total_price"),
+        @Index(name = "idx_sales_stock_applied", columnList = "stock_applied, id"),
+        @Index(name = "idx_sales_sale_date", columnList = "sale_date"),
+        @Index(name = "idx_sales_bread_sale_date", columnList = "bread_id, sale_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +32,7 @@ public class Sales {
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "bread_id", nullable = false)
+    @JoinColumn(name = "bread_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Bread bread;
     
     @Column(nullable = false)
@@ -37,9 +47,20 @@ public class Sales {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    /**
+     * 재고 반영 여부
+     * 재고 원장(StockLedger) 모드의 판매는 false로 저장되고, write-behind 반영 후 true가 됩니다.
+     * (컬럼 추가 이전의 기존 행은 NULL = 반영 완료로 취급)
+     */
+    @Column(name = "stock_applied")
+    private Boolean stockApplied;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (stockApplied == null) {
+            stockApplied = true;
+        }
         if (saleDate == null) {
             saleDate = LocalDateTime.now();
         }
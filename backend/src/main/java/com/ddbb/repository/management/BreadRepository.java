@@ -1,14 +1,25 @@
 package com.ddbb.repository.management;
 
 import com.ddbb.entity.management.Bread;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface BreadRepository extends JpaRepository<Bread, Long> {
+    
+    /**
+     * 전체 빵 목록 (쿼리 캐시)
+     * bread 테이블이 JPA로 변경되면 캐시된 결과가 자동으로 무효화됩니다.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Bread> findAll();
+    
     List<Bread> findByCategory(String category);
     List<Bread> findByNameContaining(String name);
 }
-
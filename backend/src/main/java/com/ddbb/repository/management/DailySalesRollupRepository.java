@@ -0,0 +1,68 @@
+package com.ddbb.repository.management;
+
+import com.ddbb.entity.management.DailySalesRollup;
+import com.ddbb.repository.management.projection.DailySalesTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long> {
+
+    /**
+     * 일별 합계 - 날짜순
+     */
+    @Query("SELECT r.saleDate AS saleDate, SUM(r.quantity) AS quantity, SUM(r.revenue) AS revenue FROM DailySalesRollup r " +
+           "WHERE r.saleDate >= :startDate AND r.saleDate <= :endDate " +
+           "GROUP BY r.saleDate ORDER BY r.saleDate")
+    List<DailySalesTotal> findDailyTotals(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 판매 1건을 해당 일자/빵 집계에 누적 (없으면 생성)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sale_date, bread_id, quantity, revenue) " +
+                   "VALUES (:saleDate, :breadId, :quantity, :revenue) " +
+                   "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)",
+           nativeQuery = true)
+    int upsert(@Param("saleDate") LocalDate saleDate,
+               @Param("breadId") Long breadId,
+               @Param("quantity") long quantity,
+               @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_sales_rollup WHERE sale_date >= :startDate AND sale_date <= :endDate",
+           nativeQuery = true)
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * sales 테이블로부터 기간 집계를 다시 계산 (endDateTime 미포함)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sale_date, bread_id, quantity, revenue) " +
+                   "SELECT DATE(s.sale_date), s.bread_id, SUM(s.quantity), SUM(s.total_price) FROM sales s " +
+                   "WHERE s.sale_date >= :startDateTime AND s.sale_date < :endDateTime " +
+                   "GROUP BY DATE(s.sale_date), s.bread_id",
+           nativeQuery = true)
+    int insertFromSales(@Param("startDateTime") LocalDateTime startDateTime,
+                        @Param("endDateTime") LocalDateTime endDateTime);
+
+    /**
+     * 보관된 판매(sales_archive)로부터 기간 집계를 다시 계산 (endDate 포함)
+     * 파티션 보관 도중 중단되어 sales 와 겹치는 날짜가 있으면 보관 값으로 덮어씁니다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sale_date, bread_id, quantity, revenue) " +
+                   "SELECT a.sale_date, a.bread_id, a.quantity, a.revenue FROM sales_archive a " +
+                   "WHERE a.sale_date >= :startDate AND a.sale_date <= :endDate " +
+                   "ON DUPLICATE KEY UPDATE quantity = a.quantity, revenue = a.revenue",
+           nativeQuery = true)
+    int insertFromArchive(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,64 @@
+package com.ddbb.repository.management;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 배치 갱신 (JDBC)
+ * JPA 엔티티를 거치지 않고 여러 빵의 재고를 한 번의 배치로 갱신합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryJdbcRepository {
+
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE inventory SET quantity = quantity - ?, updated_at = ? WHERE bread_id = ? AND quantity >= ?";
+
+    private static final String APPLY_STOCK_DELTA_SQL =
+            "UPDATE inventory SET quantity = quantity - ?, updated_at = ? WHERE bread_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조건부 재고 차감 배치
+     * 재고가 충분한 행만 차감되며, 결과 배열은 quantities 순회 순서대로 각 빵의 갱신 행 수(0 또는 1)입니다.
+     * 행은 순회 순서대로 잠기므로 호출자는 빵 ID 순으로 정렬된 맵을 넘겨야 합니다.
+     *
+     * @param quantities 빵 ID별 차감 수량
+     */
+    public int[] decreaseStockAll(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+            ps.setInt(4, entry.getValue());
+        })[0];
+    }
+
+    /**
+     * 재고 차감분 일괄 반영 (무조건 차감)
+     * 재고 원장에서 이미 예약이 끝난 판매를 DB에 옮겨 적을 때 사용합니다. (빵 ID 순으로 정렬된 맵)
+     *
+     * @param quantities 빵 ID별 차감 수량
+     */
+    public void applyStockDeltas(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(APPLY_STOCK_DELTA_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+        });
+    }
+}
@@ -1,10 +1,16 @@
 package com.ddbb.repository.management;
 
 import com.ddbb.entity.management.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +18,58 @@ import java.util.Optional;
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByBreadId(Long breadId);
     
+    /**
+     * 재고 행을 잠그고 조회 (SELECT ... FOR UPDATE)
+     * 읽은 값을 기준으로 절대 수량을 저장할 때, 그 사이 다른 트랜잭션의 차감/반영이 덮어써지지 않도록 사용합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.bread.id = :breadId")
+    Optional<Inventory> findByBreadIdForUpdate(@Param("breadId") Long breadId);
+    
+    List<Inventory> findByBreadIdIn(Collection<Long> breadIds);
+    
+    /**
+     * 조건부 재고 차감 - 재고가 충분할 때만 원자적으로 차감
+     * 읽기-검사-저장 사이의 경합이 없으므로 동시 판매에도 음수 재고/유실 갱신이 생기지 않습니다.
+     *
+     * @return 갱신된 행 수 (1: 성공, 0: 재고 부족 또는 재고 정보 없음)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity, i.updatedAt = :updatedAt " +
+           "WHERE i.bread.id = :breadId AND i.quantity >= :quantity")
+    int decreaseStockIfAvailable(@Param("breadId") Long breadId,
+                                 @Param("quantity") Integer quantity,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * 재고 증가 (입고) - 현재 값에 더하는 UPDATE 한 번으로 반영
+     * 동시에 실행되는 차감/원장 반영과 서로의 변경을 덮어쓰지 않습니다.
+     *
+     * @return 갱신된 행 수 (1: 성공, 0: 재고 정보 없음)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity, " +
+           "i.lastRestockedAt = :restockedAt, i.updatedAt = :restockedAt " +
+           "WHERE i.bread.id = :breadId")
+    int increaseStock(@Param("breadId") Long breadId,
+                      @Param("quantity") Integer quantity,
+                      @Param("restockedAt") LocalDateTime restockedAt);
+    
     @Query("SELECT i FROM Inventory i WHERE i.quantity <= i.minStockLevel")
     List<Inventory> findLowStockItems();
     
     @Query("SELECT i FROM Inventory i JOIN FETCH i.bread")
     List<Inventory> findAllWithBread();
+    
+    /**
+     * 재고별 기간 판매 합계 (breadId, breadName, quantity, minStockLevel, totalSold)
+     * 판매가 없는 빵도 totalSold = 0 으로 포함
+     */
+    @Query("SELECT b.id, b.name, i.quantity, i.minStockLevel, COALESCE(SUM(s.quantity), 0) " +
+           "FROM Inventory i JOIN i.bread b " +
+           "LEFT JOIN Sales s ON s.bread = b AND s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "GROUP BY i.id, b.id, b.name, i.quantity, i.minStockLevel " +
+           "ORDER BY i.id")
+    List<Object[]> findStockWithSalesBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
 
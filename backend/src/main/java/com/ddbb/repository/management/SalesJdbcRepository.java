@@ -0,0 +1,140 @@
+package com.ddbb.repository.management;
+
+import com.ddbb.entity.management.Sales;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매 기록 배치 저장 (JDBC)
+ * IDENTITY 키 전략에서는 Hibernate 배치 INSERT가 동작하지 않으므로 결제 경로는 JDBC 배치를 사용합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesJdbcRepository {
+
+    private static final String INSERT_SALES_SQL =
+            "INSERT INTO sales (bread_id, quantity, total_price, sale_date, created_at, stock_applied) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /** idx_sales_stock_applied (stock_applied, id) 로 미반영 행만 id 순으로 읽음 */
+    private static final String SELECT_UNAPPLIED_STOCK_SQL =
+            "SELECT id, bread_id, quantity, sale_date FROM sales WHERE stock_applied = FALSE " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    /** sale_date 를 함께 지정해 해당 월 파티션만 찾음 (PK = (id, sale_date)) */
+    private static final String MARK_STOCK_APPLIED_SQL =
+            "UPDATE sales SET stock_applied = TRUE WHERE id = ? AND sale_date = ?";
+
+    private static final String UPSERT_DAILY_ROLLUP_SQL =
+            "INSERT INTO daily_sales_rollup (sale_date, bread_id, quantity, revenue) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 판매 기록 일괄 INSERT
+     * 생성된 ID를 각 Sales 객체에 설정하고, 입력 순서대로 반환합니다.
+     */
+    public List<Long> insertAll(List<Sales> salesList) {
+        if (salesList.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SALES_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Sales sales = salesList.get(i);
+                        if (sales.getCreatedAt() == null) {
+                            sales.setCreatedAt(now);
+                        }
+                        if (sales.getSaleDate() == null) {
+                            sales.setSaleDate(now);
+                        }
+                        if (sales.getStockApplied() == null) {
+                            sales.setStockApplied(true);
+                        }
+                        ps.setLong(1, sales.getBread().getId());
+                        ps.setInt(2, sales.getQuantity());
+                        ps.setBigDecimal(3, sales.getTotalPrice());
+                        ps.setTimestamp(4, Timestamp.valueOf(sales.getSaleDate()));
+                        ps.setTimestamp(5, Timestamp.valueOf(sales.getCreatedAt()));
+                        ps.setBoolean(6, sales.getStockApplied());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return salesList.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            salesList.get(i).setId(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * 일별 판매 집계(daily_sales_rollup) 일괄 누적
+     */
+    public void addToDailyRollup(List<Sales> salesList) {
+        if (salesList.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_ROLLUP_SQL, salesList, salesList.size(), (ps, sales) -> {
+            ps.setObject(1, sales.getSaleDate().toLocalDate());
+            ps.setLong(2, sales.getBread().getId());
+            ps.setLong(3, sales.getQuantity());
+            ps.setBigDecimal(4, sales.getTotalPrice());
+        });
+    }
+
+    /**
+     * 재고에 아직 반영되지 않은 판매 조회 - id순, 최대 limit건
+     * 조회한 행은 트랜잭션 종료까지 잠기며, 다른 트랜잭션이 잠근 행은 건너뜁니다.
+     */
+    public List<UnappliedSale> findUnappliedStockForUpdate(int limit) {
+        return jdbcTemplate.query(SELECT_UNAPPLIED_STOCK_SQL,
+                (rs, rowNum) -> new UnappliedSale(rs.getLong("id"), rs.getLong("bread_id"), rs.getInt("quantity"),
+                        rs.getTimestamp("sale_date").toLocalDateTime()),
+                limit);
+    }
+
+    /**
+     * 재고 반영 완료 표시
+     */
+    public void markStockApplied(List<UnappliedSale> sales) {
+        jdbcTemplate.batchUpdate(MARK_STOCK_APPLIED_SQL, sales, sales.size(), (ps, sale) -> {
+            ps.setLong(1, sale.id());
+            ps.setTimestamp(2, Timestamp.valueOf(sale.saleDate()));
+        });
+    }
+
+    /**
+     * 재고 반영 저널의 한 행 (stock_applied = false 인 판매)
+     */
+    public record UnappliedSale(long id, long breadId, int quantity, LocalDateTime saleDate) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.ddbb.repository.management;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * sales 월별 파티션 관리 및 보관(sales_archive) (JDBC)
+ * 파티션 이름은 p{yyyyMM}, 최상위 파티션은 p_future (VALUES LESS THAN MAXVALUE) 입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesPartitionJdbcRepository {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final String SELECT_PARTITIONS_SQL =
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'sales' AND partition_name IS NOT NULL " +
+            "ORDER BY partition_ordinal_position";
+
+    private static final String ARCHIVE_PARTITION_SQL =
+            "INSERT INTO sales_archive (sale_date, bread_id, quantity, revenue, sale_count) " +
+            "SELECT DATE(sale_date), bread_id, SUM(quantity), SUM(total_price), COUNT(*) FROM sales PARTITION (%s) " +
+            "GROUP BY DATE(sale_date), bread_id " +
+            "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), revenue = VALUES(revenue), sale_count = VALUES(sale_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * sales 파티션 이름 목록 (범위순, 파티셔닝되지 않았으면 빈 목록)
+     */
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS_SQL, String.class);
+    }
+
+    /**
+     * p_future 를 나눠 [monthStart, nextMonthStart) 범위의 월 파티션 추가
+     */
+    public void addMonthPartition(String partitionName, LocalDate nextMonthStart) {
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE sales REORGANIZE PARTITION %1$s INTO (" +
+                "PARTITION %2$s VALUES LESS THAN ('%3$s'), PARTITION %1$s VALUES LESS THAN (MAXVALUE))",
+                FUTURE_PARTITION, partitionName, nextMonthStart));
+    }
+
+    /**
+     * 파티션 안에 재고 미반영(stock_applied = false) 판매가 있는지
+     */
+    public boolean hasUnappliedStock(String partitionName) {
+        Integer count = jdbcTemplate.queryForObject(String.format(
+                "SELECT COUNT(*) FROM sales PARTITION (%s) WHERE stock_applied = FALSE", partitionName), Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 파티션의 판매를 일자/빵 단위로 합산해 sales_archive 에 저장 (다시 실행해도 같은 결과)
+     *
+     * @return 보관된 일자/빵 행 수
+     */
+    public int archivePartition(String partitionName) {
+        return jdbcTemplate.update(String.format(ARCHIVE_PARTITION_SQL, partitionName));
+    }
+
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute(String.format("ALTER TABLE sales DROP PARTITION %s", partitionName));
+    }
+
+    /**
+     * 보관된 가장 오래된 / 최근 판매 일자 (보관된 판매가 없으면 null)
+     */
+    public LocalDate findFirstArchivedDate() {
+        return jdbcTemplate.queryForObject("SELECT MIN(sale_date) FROM sales_archive", LocalDate.class);
+    }
+
+    public LocalDate findLastArchivedDate() {
+        return jdbcTemplate.queryForObject("SELECT MAX(sale_date) FROM sales_archive", LocalDate.class);
+    }
+}
@@ -1,6 +1,10 @@
 package com.ddbb.repository.management;
 
+import com.ddbb.dto.management.SalesResponse;
 import com.ddbb.entity.management.Sales;
+import com.ddbb.repository.management.projection.DailyBreadSales;
+import com.ddbb.repository.management.projection.DailySalesTotal;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,18 +16,102 @@ import java.util.List;
 @Repository
 public interface SalesRepository extends JpaRepository<Sales, Long> {
     
+    /**
+     * SalesResponse 생성자 프로젝션 - 판매 컬럼과 빵 ID/이름을 JOIN 한 번으로 조회
+     */
+    String SALES_RESPONSE_SELECT =
+            "SELECT new com.ddbb.dto.management.SalesResponse(s.id, b.id, b.name, s.quantity, s.totalPrice, s.saleDate) " +
+            "FROM Sales s JOIN s.bread b ";
+    
     List<Sales> findBySaleDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     List<Sales> findByBreadIdAndSaleDateBetween(Long breadId, LocalDateTime startDate, LocalDateTime endDate);
     
     List<Sales> findByBread_IdAndSaleDateBetween(Long breadId, LocalDateTime startDate, LocalDateTime endDate);
     
-    @Query("SELECT s FROM Sales s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate ORDER BY s.saleDate")
+    /**
+     * 기간별 판매 + 빵 (endDate 미포함)
+     */
+    @Query("SELECT s FROM Sales s JOIN FETCH s.bread WHERE s.saleDate >= :startDate AND s.saleDate < :endDate ORDER BY s.saleDate")
     List<Sales> findSalesInPeriod(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * 기간별 판매 내역 (endDate 미포함) - 빵 이름까지 한 번의 조회로 DTO 생성 (Bread 지연 로딩 없음)
+     */
+    @Query(SALES_RESPONSE_SELECT +
+           "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate ORDER BY s.saleDate")
+    List<SalesResponse> findResponsesInPeriod(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * 특정 빵의 기간별 판매 내역 (endDate 포함) - 빵 이름까지 한 번의 조회로 DTO 생성
+     */
+    @Query(SALES_RESPONSE_SELECT +
+           "WHERE b.id = :breadId AND s.saleDate BETWEEN :startDate AND :endDate")
+    List<SalesResponse> findResponsesByBreadAndPeriod(@Param("breadId") Long breadId,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * 기간별 판매 + 빵 (endDate 포함) - 트랜잭션 밖에서도 빵 정보를 읽을 수 있도록 함께 조회
+     */
+    @Query("SELECT s FROM Sales s JOIN FETCH s.bread WHERE s.saleDate BETWEEN :startDate AND :endDate")
+    List<Sales> findWithBreadBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT s.bread.id as breadId, s.bread.name as breadName, SUM(s.quantity) as totalQuantity, SUM(s.totalPrice) as totalRevenue " +
            "FROM Sales s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate " +
            "GROUP BY s.bread.id, s.bread.name ORDER BY totalQuantity DESC")
     List<Object[]> findSalesSummaryByPeriod(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * 일별 합계 - 날짜순, 판매가 있는 날짜만 반환 (endDate 미포함)
+     * 날짜는 Asia/Seoul 기준 (sale_date는 서울 현지 시각으로 저장)
+     */
+    @Query("SELECT CAST(s.saleDate AS LocalDate) AS saleDate, SUM(s.quantity) AS quantity, SUM(s.totalPrice) AS revenue " +
+           "FROM Sales s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "GROUP BY CAST(s.saleDate AS LocalDate) ORDER BY CAST(s.saleDate AS LocalDate)")
+    List<DailySalesTotal> findDailyTotals(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * 일별 빵별 합계 - 날짜, 빵 ID순 (endDate 미포함)
+     * idx_sales_date_bread_covering (sale_date, bread_id, quantity, total_price) 범위 스캔만으로 처리
+     */
+    @Query("SELECT CAST(s.saleDate AS LocalDate) AS saleDate, s.bread.id AS breadId, " +
+           "SUM(s.quantity) AS quantity, SUM(s.totalPrice) AS revenue " +
+           "FROM Sales s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "GROUP BY CAST(s.saleDate AS LocalDate), s.bread.id " +
+           "ORDER BY CAST(s.saleDate AS LocalDate), s.bread.id")
+    List<DailyBreadSales> findDailyBreadSales(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * 커서 페이지 - (afterSaleDate, afterId) 다음 행부터 sale_date, id 순으로 limit건 (endDate 미포함)
+     * 첫 페이지는 afterSaleDate = startDate, afterId = 0 으로 조회합니다.
+     */
+    @Query(SALES_RESPONSE_SELECT +
+           "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "AND (s.saleDate > :afterSaleDate OR (s.saleDate = :afterSaleDate AND s.id > :afterId)) " +
+           "ORDER BY s.saleDate, s.id")
+    List<SalesResponse> findPageAfter(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      @Param("afterSaleDate") LocalDateTime afterSaleDate,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+    
+    @Query(SALES_RESPONSE_SELECT +
+           "WHERE b.id = :breadId AND s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "AND (s.saleDate > :afterSaleDate OR (s.saleDate = :afterSaleDate AND s.id > :afterId)) " +
+           "ORDER BY s.saleDate, s.id")
+    List<SalesResponse> findPageByBreadAfter(@Param("breadId") Long breadId,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             @Param("afterSaleDate") LocalDateTime afterSaleDate,
+                                             @Param("afterId") Long afterId,
+                                             Limit limit);
+    
+    @Query("SELECT MIN(s.saleDate) FROM Sales s")
+    LocalDateTime findFirstSaleDate();
+    
+    @Query("SELECT MAX(s.saleDate) FROM Sales s")
+    LocalDateTime findLastSaleDate();
 }
 
@@ -0,0 +1,18 @@
+package com.ddbb.repository.management.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일별 빵별 판매 합계 (날짜 × 빵)
+ */
+public interface DailyBreadSales {
+
+    LocalDate getSaleDate();
+
+    Long getBreadId();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,16 @@
+package com.ddbb.repository.management.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일별 판매 합계 (날짜별)
+ */
+public interface DailySalesTotal {
+
+    LocalDate getSaleDate();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
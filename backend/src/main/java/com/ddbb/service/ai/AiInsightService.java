@@ -1,5 +1,6 @@
 package com.ddbb.service.ai;
 
+import com.ddbb.client.AiCallMetrics;
 import com.ddbb.client.GeminiClient;
 import com.ddbb.entity.management.Inventory;
 import com.ddbb.entity.management.Sales;
@@ -12,6 +13,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -43,18 +45,33 @@ public class AiInsightService {
     private final GeminiClient geminiClient;
     private final ObjectMapper objectMapper;
     private final WeatherService weatherService;
+    private final InsightCache insightCache;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final AiCallMetrics aiCallMetrics;
 
+    /**
+     * AI 인사이트 조회 (캐시 - TTL/판매량 기준 재생성)
+     */
     public Map<String, Object> generateInsights() {
+        return insightCache.get("ai", this::buildInsights);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션에서 오늘 판매/재고만 조회하고(빵 정보 포함), 분석과 날씨/Gemini 호출은 커넥션 반납 후 수행
+     * Gemini 응답을 쓰지 못했거나 날씨가 아직 없으면 대체 응답으로 표시해 짧게만 캐시
+     */
+    private InsightCache.Loaded buildInsights() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
         LocalDateTime oneHourAgo = now.minusHours(1);
 
-        List<Sales> todaysSales = salesRepository.findSalesInPeriod(startOfDay, endOfDay);
-        List<Inventory> inventories = inventoryRepository.findAllWithBread();
+        InsightSnapshot snapshot = readOnlyTransactionTemplate.execute(status -> new InsightSnapshot(
+                salesRepository.findSalesInPeriod(startOfDay, endOfDay),
+                inventoryRepository.findAllWithBread()));
 
-        SalesAnalytics salesAnalytics = analyseSales(todaysSales, oneHourAgo);
-        InventoryAnalytics inventoryAnalytics = analyseInventory(inventories);
+        SalesAnalytics salesAnalytics = analyseSales(snapshot.todaysSales(), oneHourAgo);
+        InventoryAnalytics inventoryAnalytics = analyseInventory(snapshot.inventories());
         WeatherContext weatherContext = buildWeatherContext();
 
         GeminiResult geminiResult = requestGeminiInsights(salesAnalytics, inventoryAnalytics, weatherContext);
@@ -70,7 +87,9 @@ public class AiInsightService {
         result.put("insight", inventoryInsight);
         result.put("strategy", strategy);
         result.put("generatedAt", now.toString());
-        return result;
+        return geminiResult.isEmpty() || !weatherContext.available()
+                ? InsightCache.Loaded.fallback(result)
+                : InsightCache.Loaded.of(result);
     }
 
     private GeminiResult requestGeminiInsights(SalesAnalytics salesAnalytics,
@@ -82,6 +101,7 @@ public class AiInsightService {
             String rawResponse = geminiClient.requestInsights(prompt);
             String cleaned = cleanupJson(rawResponse);
             if (cleaned.isBlank()) {
+                aiCallMetrics.fallback("gemini", "insights", "empty");
                 return GeminiResult.empty();
             }
             Map<String, String> map = objectMapper.readValue(cleaned, new TypeReference<>() {});
@@ -93,6 +113,7 @@ public class AiInsightService {
             );
         } catch (Exception e) {
             log.warn("Gemini 분석 응답을 사용하지 못했습니다. Fallback 로직으로 대체합니다.", e);
+            aiCallMetrics.fallback("gemini", "insights", "error");
             return GeminiResult.empty();
         }
     }
@@ -382,7 +403,8 @@ public class AiInsightService {
         return "";
     }
 
-    private SalesAnalytics analyseSales(List<Sales> sales, LocalDateTime thresholdForRecent) {
+    // 벤치마크(src/jmh)에서 직접 호출하므로 package-private
+    SalesAnalytics analyseSales(List<Sales> sales, LocalDateTime thresholdForRecent) {
         if (sales.isEmpty()) {
             return SalesAnalytics.empty();
         }
@@ -431,7 +453,7 @@ public class AiInsightService {
         return new SalesAnalytics(true, hasRecent, latestSale, totalQuantity, totalRevenue, sorted);
     }
 
-    private InventoryAnalytics analyseInventory(List<Inventory> inventories) {
+    InventoryAnalytics analyseInventory(List<Inventory> inventories) {
         if (inventories.isEmpty()) {
             return InventoryAnalytics.empty();
         }
@@ -629,12 +651,12 @@ public class AiInsightService {
         }
     }
 
-    private record SalesAnalytics(boolean hasSales,
-                                  boolean hasRecentSales,
-                                  LocalDateTime latestSaleAt,
-                                  int totalQuantity,
-                                  BigDecimal totalRevenue,
-                                  List<SalesAggregate> aggregates) {
+    record SalesAnalytics(boolean hasSales,
+                          boolean hasRecentSales,
+                          LocalDateTime latestSaleAt,
+                          int totalQuantity,
+                          BigDecimal totalRevenue,
+                          List<SalesAggregate> aggregates) {
 
         static SalesAnalytics empty() {
             return new SalesAnalytics(false, false, null, 0, BigDecimal.ZERO, List.of());
@@ -645,11 +667,11 @@ public class AiInsightService {
         }
     }
 
-    private record InventoryAnalytics(boolean hasInventory,
-                                      List<Inventory> allInventories,
-                                      List<Inventory> lowStock,
-                                      List<Inventory> ampleStock,
-                                      List<Inventory> criticalStock) {
+    record InventoryAnalytics(boolean hasInventory,
+                              List<Inventory> allInventories,
+                              List<Inventory> lowStock,
+                              List<Inventory> ampleStock,
+                              List<Inventory> criticalStock) {
 
         static InventoryAnalytics empty() {
             return new InventoryAnalytics(false, List.of(), List.of(), List.of(), List.of());
@@ -694,9 +716,20 @@ public class AiInsightService {
         }
     }
 
+    private record InsightSnapshot(List<Sales> todaysSales, List<Inventory> inventories) {
+    }
+
     private record GeminiResult(String mood, String brief, String inventory, String strategy) {
         static GeminiResult empty() {
             return new GeminiResult("", "", "", "");
         }
+
+        boolean isEmpty() {
+            return isBlank(mood) && isBlank(brief) && isBlank(inventory) && isBlank(strategy);
+        }
+
+        private static boolean isBlank(String text) {
+            return text == null || text.isBlank();
+        }
     }
 }
@@ -0,0 +1,186 @@
+package com.ddbb.service.ai;
+
+import com.ddbb.service.management.SalesRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * AI 인사이트 응답 캐시 (/api/dashboard/insights, /api/ai/insights)
+ * - TTL(insights.cache.ttl-seconds) 동안 같은 응답을 재사용
+ * - 동시에 캐시 미스가 나면 한 요청만 생성하고 나머지는 그 결과를 기다림 (single-flight)
+ * - 마지막 생성 이후 판매 기록이 sales-threshold건 이상 쌓이면 TTL 전이라도 다시 생성 (0이면 비활성)
+ * - LLM 실패/날씨 미수신 등으로 대체 응답을 만든 경우(Loaded.fallback)는 fallback-ttl-seconds 동안만 재사용
+ * - 메트릭: insights.cache.requests{cache, result=hit|miss|coalesced}, insights.cache.invalidations{cache, reason}
+ */
+@Slf4j
+@Component
+public class InsightCache {
+
+    private final ConcurrentHashMap<String, CachedInsight> entries = new ConcurrentHashMap<>();
+    private final AtomicLong salesRecorded = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final long ttlNanos;
+    private final long fallbackTtlNanos;
+    private final long salesThreshold;
+
+    public InsightCache(MeterRegistry meterRegistry,
+                        @Value("${insights.cache.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${insights.cache.fallback-ttl-seconds:30}") long fallbackTtlSeconds,
+                        @Value("${insights.cache.sales-threshold:0}") long salesThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.fallbackTtlNanos = TimeUnit.SECONDS.toNanos(fallbackTtlSeconds);
+        this.salesThreshold = salesThreshold;
+
+        Gauge.builder("insights.cache.size", entries, Map::size)
+                .description("캐시된 AI 인사이트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 인사이트를 반환하고, 없거나 만료되었으면 loader로 생성
+     * 생성에 실패하면 캐시에 남기지 않고 예외를 그대로 전달합니다.
+     */
+    public Map<String, Object> get(String cacheName, Supplier<Loaded> loader) {
+        CachedInsight current = entries.get(cacheName);
+        if (current != null && staleReason(current) == null) {
+            count(cacheName, current.value().isDone() ? "hit" : "coalesced");
+            return await(current);
+        }
+
+        // 만료된 항목을 실제로 교체한 요청만 무효화로 기록
+        CachedInsight candidate = new CachedInsight(new CompletableFuture<>(), System.nanoTime(), salesRecorded.get());
+        CachedInsight winner = entries.compute(cacheName, (key, existing) -> {
+            if (existing == null) {
+                return candidate;
+            }
+            String staleReason = staleReason(existing);
+            if (staleReason == null) {
+                return existing;
+            }
+            invalidated(key, staleReason);
+            return candidate;
+        });
+
+        if (winner != candidate) {
+            count(cacheName, "coalesced");
+            return await(winner);
+        }
+
+        count(cacheName, "miss");
+        try {
+            Loaded loaded = loader.get();
+            Loaded value = new Loaded(Collections.unmodifiableMap(loaded.value()), loaded.fallback());
+            if (value.fallback()) {
+                log.info("AI 인사이트 대체 응답 - {}초 동안만 캐시 (cache: {})",
+                        TimeUnit.NANOSECONDS.toSeconds(fallbackTtlNanos), cacheName);
+            }
+            candidate.value().complete(value);
+            return value.value();
+        } catch (Throwable e) {
+            // Error 도 포함 - 완료되지 않은 항목이 남으면 이후 요청이 모두 영원히 기다림
+            entries.remove(cacheName, candidate);
+            candidate.value().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 캐시 전체 비우기
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * 판매 기록이 커밋되면 건수를 누적 (판매량 기준 무효화용)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSalesRecorded(SalesRecordedEvent event) {
+        salesRecorded.addAndGet(event.salesCount());
+    }
+
+    /**
+     * 다시 생성해야 하는 이유 (ttl, fallback_ttl, sales, error) - 아직 쓸 수 있으면 null
+     * 생성 중인 항목은 그 결과를 기다리면 되므로 유효로 봅니다.
+     */
+    private String staleReason(CachedInsight entry) {
+        if (entry.value().isCompletedExceptionally()) {
+            return "error";
+        }
+        if (!entry.value().isDone()) {
+            return null;
+        }
+        boolean fallback = entry.value().join().fallback();
+        if (System.nanoTime() - entry.builtAt() >= (fallback ? fallbackTtlNanos : ttlNanos)) {
+            return fallback ? "fallback_ttl" : "ttl";
+        }
+        if (salesThreshold > 0 && salesRecorded.get() - entry.salesAtBuild() >= salesThreshold) {
+            return "sales";
+        }
+        return null;
+    }
+
+    private Map<String, Object> await(CachedInsight entry) {
+        try {
+            return entry.value().join().value();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void count(String cacheName, String result) {
+        Counter.builder("insights.cache.requests")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void invalidated(String cacheName, String reason) {
+        log.debug("AI 인사이트 캐시 만료 - cache: {}, reason: {}", cacheName, reason);
+        Counter.builder("insights.cache.invalidations")
+                .tag("cache", cacheName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * loader 결과 - fallback 이면 LLM/외부 데이터 대신 대체 내용으로 만든 응답
+     */
+    public record Loaded(Map<String, Object> value, boolean fallback) {
+
+        public static Loaded of(Map<String, Object> value) {
+            return new Loaded(value, false);
+        }
+
+        public static Loaded fallback(Map<String, Object> value) {
+            return new Loaded(value, true);
+        }
+    }
+
+    private record CachedInsight(CompletableFuture<Loaded> value, long builtAt, long salesAtBuild) {
+    }
+}
@@ -1,23 +1,25 @@
 package com.ddbb.service.aidashboard;
 
+import com.ddbb.client.AiCallMetrics;
+import com.ddbb.client.OpenAiChatClient;
 import com.ddbb.dto.aidashboard.DashboardChartDto;
 import com.ddbb.entity.management.Inventory;
 import com.ddbb.entity.management.Sales;
 import com.ddbb.repository.management.InventoryRepository;
 import com.ddbb.repository.management.SalesRepository;
+import com.ddbb.repository.management.projection.DailyBreadSales;
+import com.ddbb.service.ai.InsightCache;
+import com.ddbb.service.management.BreadCatalog;
 import com.ddbb.service.aidashboard.WeatherService.WeatherSummary;
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,49 +28,75 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardAIService {
 
+    private static final int CHART_DAYS = 7;
+    private static final int RANKING_SIZE = 5;
+
     private final SalesRepository salesRepository;
+    private final BreadCatalog breadCatalog;
     private final InventoryRepository inventoryRepository;
     private final WeatherService weatherService;
+    private final OpenAiChatClient openAiChatClient;
+    private final InsightCache insightCache;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final AiCallMetrics aiCallMetrics;
 
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    /**
+     * AI 대시보드 인사이트 조회 (캐시 - TTL/판매량 기준 재생성)
+     */
+    public Map<String, Object> generateDashboardInsights() {
+        return insightCache.get("dashboard", this::buildDashboardInsights);
+    }
 
     /**
      * AI 대시보드 인사이트 생성
+     * 1단계: 읽기 전용 트랜잭션에서 판매/재고 스냅샷 조회 (빵 정보까지 함께 로딩, 커밋 후 커넥션 반납)
+     * 2단계: 트랜잭션/커넥션 없이 날씨 조회, 프롬프트 생성, OpenAI 호출
+     * OpenAI 호출 실패(동시 호출 제한 거절, 시간 초과 포함)나 날씨 미수신이면 대체 응답으로 표시해 짧게만 캐시
      */
-    public Map<String, Object> generateDashboardInsights() {
+    private InsightCache.Loaded buildDashboardInsights() {
         log.info("AI 대시보드 인사이트 생성 시작");
 
-        // 1. 날씨 정보
+        LocalDateTime now = LocalDateTime.now();
+        DashboardSnapshot snapshot = readOnlyTransactionTemplate.execute(status -> loadSnapshot(now));
+
+        // 날씨 정보
         WeatherSummary weather = weatherService.fetchSeoulWeather();
 
-        // 2. 오늘 판매 데이터 (실시간 모니터링용)
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime todayEnd = LocalDate.now().atTime(23, 59, 59);
-        LocalDateTime now = LocalDateTime.now();
-        List<Sales> todaySales = salesRepository.findBySaleDateBetween(todayStart, now);
+        // AI 프롬프트 생성 및 호출
+        String prompt = buildDashboardPrompt(weather, snapshot.todaySales(), snapshot.yesterdaySales(),
+                snapshot.inventories(), snapshot.weekSales(), now.getHour());
+        String aiResponse = callOpenAI(prompt);
+        boolean fallback = aiResponse == null || !weather.success();
+        if (aiResponse == null) {
+            aiResponse = generateFallbackResponse();
+        }
 
-        // 3. 어제까지의 완료된 판매 데이터 (트렌드 분석용 - 오늘 제외)
-        LocalDateTime yesterdayStart = LocalDate.now().minusDays(1).atStartOfDay();
-        LocalDateTime yesterdayEnd = LocalDate.now().minusDays(1).atTime(23, 59, 59);
-        List<Sales> yesterdaySales = salesRepository.findBySaleDateBetween(yesterdayStart, yesterdayEnd);
+        // 응답 파싱
+        Map<String, Object> insights = parseDashboardResponse(aiResponse, weather);
+        return fallback ? InsightCache.Loaded.fallback(insights) : InsightCache.Loaded.of(insights);
+    }
 
-        // 4. 재고 데이터
-        List<Inventory> inventories = inventoryRepository.findAll();
+    /**
+     * 인사이트 생성에 필요한 판매/재고 스냅샷 조회
+     */
+    private DashboardSnapshot loadSnapshot(LocalDateTime now) {
+        // 오늘 판매 데이터 (실시간 모니터링용)
+        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
+        List<Sales> todaySales = salesRepository.findWithBreadBetween(todayStart, now);
 
-        // 5. 최근 7일 완료된 판매 데이터 (어제부터 7일 전까지 - 오늘 제외)
-        LocalDateTime weekAgoStart = LocalDate.now().minusDays(7).atStartOfDay();
-        List<Sales> weekSales = salesRepository.findBySaleDateBetween(weekAgoStart, yesterdayEnd);
+        // 어제까지의 완료된 판매 데이터 (트렌드 분석용 - 오늘 제외)
+        LocalDateTime yesterdayStart = now.toLocalDate().minusDays(1).atStartOfDay();
+        LocalDateTime yesterdayEnd = now.toLocalDate().minusDays(1).atTime(23, 59, 59);
+        List<Sales> yesterdaySales = salesRepository.findWithBreadBetween(yesterdayStart, yesterdayEnd);
 
-        // 6. 현재 시간 정보
-        int currentHour = now.getHour();
+        // 재고 데이터
+        List<Inventory> inventories = inventoryRepository.findAllWithBread();
 
-        // 7. AI 프롬프트 생성 및 호출
-        String prompt = buildDashboardPrompt(weather, todaySales, yesterdaySales, inventories, weekSales, currentHour);
-        String aiResponse = callOpenAI(prompt);
+        // 최근 7일 완료된 판매 데이터 (어제부터 7일 전까지 - 오늘 제외)
+        LocalDateTime weekAgoStart = now.toLocalDate().minusDays(7).atStartOfDay();
+        List<Sales> weekSales = salesRepository.findWithBreadBetween(weekAgoStart, yesterdayEnd);
 
-        // 8. 응답 파싱
-        return parseDashboardResponse(aiResponse, weather);
+        return new DashboardSnapshot(todaySales, yesterdaySales, inventories, weekSales);
     }
 
     /**
@@ -459,35 +487,21 @@ public class DashboardAIService {
     }
 
     /**
-     * OpenAI API 호출
+     * OpenAI API 호출 (실패 시 null)
      */
     private String callOpenAI(String prompt) {
         try {
-            OpenAiService service = new OpenAiService(openaiApiKey, Duration.ofSeconds(45));
-
-            ChatMessage systemMessage = new ChatMessage("system",
+            String response = openAiChatClient.chat("dashboard",
                     "당신은 15년 경력의 베이커리 경영 컨설턴트입니다. " +
                     "제공된 실제 데이터만을 기반으로 정확하고 구체적인 분석을 제공합니다. " +
                     "추측이나 일반적인 조언은 하지 않으며, 오직 데이터 기반의 실행 가능한 인사이트만 제시합니다. " +
                     "모든 제품명과 숫자는 제공된 데이터의 정확한 값을 사용합니다. " +
                     "절대 규칙: 발주 수량은 반드시 '일평균 × 1~2일'로 정확히 계산하고, " +
                     "할인 프로모션은 '💡 할인 프로모션 추천 대상' 리스트에 명시된 제품만 추천하고, " +
-                    "SNS 마케팅은 '💡 SNS 마케팅 가능 제품' 리스트에 명시된 제품만 추천합니다.");
-
-            ChatMessage userMessage = new ChatMessage("user", prompt);
-
-            ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4o-mini")
-                    .messages(Arrays.asList(systemMessage, userMessage))
-                    .temperature(0.1)  // 더 엄격한 일관성 (0.2 → 0.1)
-                    .maxTokens(1200)   // 더 상세한 분석을 위해 증가
-                    .build();
-
-            String response = service.createChatCompletion(completionRequest)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
+                    "SNS 마케팅은 '💡 SNS 마케팅 가능 제품' 리스트에 명시된 제품만 추천합니다.",
+                    prompt,
+                    0.1,    // 더 엄격한 일관성 (0.2 → 0.1)
+                    1200);  // 더 상세한 분석을 위해 증가
 
             log.info("OpenAI 응답 수신 완료 (길이: {}자)", response.length());
             log.debug("OpenAI 응답 내용:\n{}", response);
@@ -496,7 +510,8 @@ public class DashboardAIService {
 
         } catch (Exception e) {
             log.error("OpenAI API 호출 실패", e);
-            return generateFallbackResponse();
+            aiCallMetrics.fallback("openai", "dashboard", "error");
+            return null;
         }
     }
 
@@ -541,13 +556,12 @@ public class DashboardAIService {
     public DashboardChartDto generateChartData() {
         log.info("차트 데이터 생성 시작");
 
-        // 최근 7일 날짜 범위 (어제까지)
-        LocalDateTime yesterdayEnd = LocalDate.now().minusDays(1).atTime(23, 59, 59);
-        LocalDateTime weekAgoStart = LocalDate.now().minusDays(7).atStartOfDay();
+        // 최근 7일 날짜 범위 (어제까지) - DB에서 일별/빵별로 집계
+        LocalDate firstDay = LocalDate.now().minusDays(CHART_DAYS);
+        List<DailyBreadSales> dailyBreadSales = salesRepository.findDailyBreadSales(
+                firstDay.atStartOfDay(), LocalDate.now().atStartOfDay());
 
-        List<Sales> weekSales = salesRepository.findBySaleDateBetween(weekAgoStart, yesterdayEnd);
-
-        if (weekSales.isEmpty()) {
+        if (dailyBreadSales.isEmpty()) {
             log.warn("차트 데이터 없음 - 빈 DTO 반환");
             return DashboardChartDto.builder()
                     .last7DaysSales(new LinkedHashMap<>())
@@ -560,79 +574,61 @@ public class DashboardAIService {
                     .build();
         }
 
-        // 1. 최근 7일 일별 판매량 & 매출
-        Map<String, Integer> dailySales = new LinkedHashMap<>();
-        Map<String, Double> dailyRevenue = new LinkedHashMap<>();
+        // 1. 집계 행(날짜 × 빵)을 한 번 순회하며 일별/빵별 합계 누적
+        int[] dayQuantity = new int[CHART_DAYS];
+        double[] dayRevenue = new double[CHART_DAYS];
+        Map<Long, BreadTotals> breadTotals = new HashMap<>();
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        for (DailyBreadSales row : dailyBreadSales) {
+            int dayIndex = (int) ChronoUnit.DAYS.between(firstDay, row.getSaleDate());
+            int quantity = row.getQuantity().intValue();
+            double revenue = row.getRevenue().doubleValue();
 
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i + 1);
-            String dateKey = date.format(formatter);
+            dayQuantity[dayIndex] += quantity;
+            dayRevenue[dayIndex] += revenue;
 
-            LocalDateTime dayStart = date.atStartOfDay();
-            LocalDateTime dayEnd = date.atTime(23, 59, 59);
+            BreadTotals totals = breadTotals.computeIfAbsent(row.getBreadId(), id -> new BreadTotals());
+            totals.quantity += quantity;
+            totals.revenue += revenue;
+        }
 
-            List<Sales> daySales = weekSales.stream()
-                    .filter(s -> !s.getSaleDate().isBefore(dayStart) && !s.getSaleDate().isAfter(dayEnd))
-                    .collect(Collectors.toList());
+        // 빵 이름은 카탈로그에서 등장한 빵만 한 번에 조회 (캐시에 없는 빵만 IN 조회)
+        breadCatalog.getAll(breadTotals.keySet()).forEach((breadId, bread) ->
+                breadTotals.get(breadId).name = sanitizeBreadName(bread.name()));
 
-            int totalQuantity = daySales.stream()
-                    .mapToInt(Sales::getQuantity)
-                    .sum();
+        // 2. 최근 7일 일별 판매량 & 매출
+        Map<String, Integer> dailySales = new LinkedHashMap<>();
+        Map<String, Double> dailyRevenue = new LinkedHashMap<>();
 
-            double totalRevenue = daySales.stream()
-                    .mapToDouble(s -> s.getTotalPrice().doubleValue())
-                    .sum();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        int weekTotal = 0;
 
-            dailySales.put(dateKey, totalQuantity);
-            dailyRevenue.put(dateKey, totalRevenue);
+        for (int i = 0; i < CHART_DAYS; i++) {
+            String dateKey = firstDay.plusDays(i).format(formatter);
+            dailySales.put(dateKey, dayQuantity[i]);
+            dailyRevenue.put(dateKey, dayRevenue[i]);
+            weekTotal += dayQuantity[i];
         }
 
-        // 2. 빵별 주간 판매량 TOP 5
-        Map<String, Integer> breadSales = weekSales.stream()
-                .collect(Collectors.groupingBy(
-                        s -> sanitizeBreadName(s.getBread().getName()),
-                        Collectors.summingInt(Sales::getQuantity)
-                ));
-
-        Map<String, Integer> top5BreadSales = breadSales.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(5)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
-
-        // 3. 빵별 주간 매출 TOP 5
+        // 3. 빵별 주간 판매량/매출 TOP 5 (같은 표시 이름은 합산)
+        Map<String, Integer> breadSales = new HashMap<>();
         Map<String, Double> breadRevenue = new HashMap<>();
-        for (Sales sale : weekSales) {
-            String breadName = sanitizeBreadName(sale.getBread().getName());
-            double revenue = sale.getTotalPrice().doubleValue();
-            breadRevenue.merge(breadName, revenue, Double::sum);
+        for (BreadTotals totals : breadTotals.values()) {
+            if (totals.name == null) {
+                continue;
+            }
+            breadSales.merge(totals.name, totals.quantity, Integer::sum);
+            breadRevenue.merge(totals.name, totals.revenue, Double::sum);
         }
 
-        Map<String, Double> top5BreadRevenue = breadRevenue.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(5)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+        Map<String, Integer> top5BreadSales = topN(breadSales, RANKING_SIZE);
+        Map<String, Double> top5BreadRevenue = topN(breadRevenue, RANKING_SIZE);
 
         // 4. 신뢰도 계산
         double confidence = calculateTrendConfidence(dailySales);
 
-        // 5. 트렌드 방향 & 변화율
-        LocalDateTime yesterdayStart = LocalDate.now().minusDays(1).atStartOfDay();
-        List<Sales> yesterdaySales = salesRepository.findBySaleDateBetween(yesterdayStart, yesterdayEnd);
-
-        int yesterdayTotal = yesterdaySales.stream().mapToInt(Sales::getQuantity).sum();
-        int weekTotal = weekSales.stream().mapToInt(Sales::getQuantity).sum();
+        // 5. 트렌드 방향 & 변화율 (어제 = 마지막 날)
+        int yesterdayTotal = dayQuantity[CHART_DAYS - 1];
         double weeklyAvg = weekTotal / 7.0;
 
         String trendDirection;
@@ -659,6 +655,37 @@ public class DashboardAIService {
                 .build();
     }
 
+    /**
+     * 값 기준 상위 N개 (내림차순) - 크기 N의 최소 힙으로 선택
+     */
+    private static <V extends Comparable<V>> Map<String, V> topN(Map<String, V> values, int n) {
+        PriorityQueue<Map.Entry<String, V>> heap = new PriorityQueue<>(n + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, V> entry : values.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > n) {
+                heap.poll();
+            }
+        }
+
+        List<Map.Entry<String, V>> ranked = new ArrayList<>(heap);
+        ranked.sort(Map.Entry.<String, V>comparingByValue().reversed());
+
+        Map<String, V> result = new LinkedHashMap<>();
+        for (Map.Entry<String, V> entry : ranked) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 빵별 주간 합계 누적용
+     */
+    private static final class BreadTotals {
+        private String name;
+        private int quantity;
+        private double revenue;
+    }
+
     /**
      * 트렌드 신뢰도 계산 (변동계수 기반)
      * CV (Coefficient of Variation) = (표준편차 / 평균) × 100
@@ -771,4 +798,13 @@ public class DashboardAIService {
             .replaceAll("\\s+", " ")             // 연속 공백 제거
             .trim();
     }
+
+    /**
+     * 인사이트 생성용 판매/재고 스냅샷 (빵 정보 로딩 완료 - 트랜잭션 밖에서 사용)
+     */
+    private record DashboardSnapshot(List<Sales> todaySales,
+                                     List<Sales> yesterdaySales,
+                                     List<Inventory> inventories,
+                                     List<Sales> weekSales) {
+    }
 }
@@ -1,62 +1,218 @@
 package com.ddbb.service.aidashboard;
 
+import com.ddbb.client.OutboundCallGuard;
+import com.ddbb.config.aidashboard.WeatherProperties;
+import com.ddbb.config.aidashboard.WeatherProperties.Location;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 지점별 현재 날씨 (open-meteo)
+ * - 좌표를 격자(weather.grid-resolution)로 묶어 같은 격자의 지점은 한 번만 조회
+ * - 여러 격자는 open-meteo 다중 좌표 요청으로 weather.batch-size개씩 한 번에 조회
+ * - 요청 스레드는 캐시만 읽고, 갱신은 스케줄러/백그라운드 작업이 수행 (stale-while-revalidate)
+ * - API 장애 중에는 마지막으로 성공한 값을 계속 사용
+ * - 메트릭: weather.api.requests{outcome=success|empty|error} (배치 요청 시간), weather.cache.age (가장 오래된 값의 경과 시간)
+ */
 @Service
 public class WeatherService {
 
     private static final Logger log = LoggerFactory.getLogger(WeatherService.class);
 
     private static final String API_URL = "https://api.open-meteo.com/v1/forecast"
-            + "?latitude=37.5665"
-            + "&longitude=126.9780"
+            + "?latitude={latitudes}"
+            + "&longitude={longitudes}"
             + "&current_weather=true"
             + "&timezone=Asia/Seoul";
 
     private final RestTemplate restTemplate;
-
-    public WeatherService(RestTemplate restTemplate) {
+    private final TaskScheduler taskScheduler;
+    private final WeatherProperties properties;
+    private final OutboundCallGuard outboundCallGuard;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 격자별 마지막으로 성공한 관측값 - 요청 스레드는 항상 이 값만 읽음
+     */
+    private final ConcurrentHashMap<GridCell, CachedWeather> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<GridCell, Long> lastAttempts = new ConcurrentHashMap<>();
+
+    /**
+     * 백그라운드 갱신 대기 격자 (같은 격자의 동시 요청은 하나로 합쳐짐)
+     */
+    private final Set<GridCell> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    public WeatherService(RestTemplate restTemplate, TaskScheduler taskScheduler, WeatherProperties properties,
+                          OutboundCallGuard outboundCallGuard, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.outboundCallGuard = outboundCallGuard;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("weather.cache.age", cache, WeatherService::oldestAgeSeconds);
     }
 
+    /**
+     * 기본 지점(weather.default-location) 현재 날씨
+     */
     public WeatherSummary fetchSeoulWeather() {
-        try {
-            Map<?, ?> response = restTemplate.getForObject(API_URL, Map.class);
-            if (response == null || !response.containsKey("current_weather")) {
-                return WeatherSummary.error("날씨 데이터를 불러올 수 없습니다.");
-            }
+        return fetchWeather(properties.getDefaultLocation());
+    }
 
-            Object currentObj = response.get("current_weather");
-            if (!(currentObj instanceof Map<?, ?> current)) {
-                return WeatherSummary.error("날씨 데이터를 불러올 수 없습니다.");
-            }
+    /**
+     * 지점별 현재 날씨 (캐시)
+     * 값이 없거나 max-age보다 오래되었으면 백그라운드 갱신을 요청하고, 외부 API는 기다리지 않습니다.
+     */
+    public WeatherSummary fetchWeather(String locationId) {
+        return properties.findLocation(locationId)
+                .map(this::lookup)
+                .orElseGet(() -> WeatherSummary.error("등록되지 않은 지점입니다: " + locationId));
+    }
 
-            Object tempObj = current.get("temperature");
-            Object weatherCodeObj = current.get("weathercode");
+    /**
+     * 등록된 모든 지점의 현재 날씨 (지점 ID → 날씨, 설정 순서)
+     */
+    public Map<String, WeatherSummary> fetchAllWeather() {
+        Map<String, WeatherSummary> result = new LinkedHashMap<>();
+        for (Location location : properties.getLocations()) {
+            result.put(location.getId(), lookup(location));
+        }
+        return result;
+    }
 
-            if (!(tempObj instanceof Number temperatureNumber) || !(weatherCodeObj instanceof Number weatherCodeNumber)) {
-                return WeatherSummary.error("날씨 데이터를 불러올 수 없습니다.");
-            }
+    /**
+     * 주기적 백그라운드 갱신 (기동 직후 1회 포함) - 등록된 지점과 조회된 적 있는 격자 전체
+     */
+    @Scheduled(fixedDelayString = "${weather.refresh-interval-ms:900000}")
+    public void refreshAll() {
+        Set<GridCell> cells = new LinkedHashSet<>();
+        for (Location location : properties.getLocations()) {
+            cells.add(cellOf(location));
+        }
+        cells.addAll(cache.keySet());
+        fetchInBatches(cells);
+    }
 
-            double temperature = temperatureNumber.doubleValue();
-            int weatherCode = weatherCodeNumber.intValue();
+    private WeatherSummary lookup(Location location) {
+        GridCell cell = cellOf(location);
+        CachedWeather cached = cache.get(cell);
+        if (cached == null || System.currentTimeMillis() - cached.fetchedAt() > properties.getMaxAgeMs()) {
+            requestRefresh(cell);
+        }
+        if (cached == null) {
+            return WeatherSummary.error("날씨 데이터를 불러오는 중입니다.");
+        }
+        return cached.toSummary(location.getName(), translateWeatherCode(cached.weatherCode()));
+    }
 
-            String description = translateWeatherCode(weatherCode);
-            String summary = String.format("서울 현재 %.1f°C, %s", temperature, description);
+    private void requestRefresh(GridCell cell) {
+        Long lastAttempt = lastAttempts.get(cell);
+        if (lastAttempt != null && System.currentTimeMillis() - lastAttempt < properties.getRetryIntervalMs()) {
+            return;
+        }
+        if (pending.add(cell) && drainScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::drainPending, Instant.now());
+        }
+    }
 
-            return WeatherSummary.success(summary, description, temperature);
+    private void drainPending() {
+        drainScheduled.set(false);
+        List<GridCell> cells = new ArrayList<>(pending);
+        pending.removeAll(cells);
+        fetchInBatches(cells);
+    }
 
+    private void fetchInBatches(Collection<GridCell> cells) {
+        List<GridCell> all = new ArrayList<>(cells);
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        for (int from = 0; from < all.size(); from += batchSize) {
+            fetchBatch(all.subList(from, Math.min(from + batchSize, all.size())));
+        }
+    }
+
+    private void fetchBatch(List<GridCell> cells) {
+        long now = System.currentTimeMillis();
+        cells.forEach(cell -> lastAttempts.put(cell, now));
+
+        String latitudes = cells.stream().map(cell -> formatCoordinate(cell.latitude())).collect(Collectors.joining(","));
+        String longitudes = cells.stream().map(cell -> formatCoordinate(cell.longitude())).collect(Collectors.joining(","));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            outboundCallGuard.beforeOutboundCall("weather");
+            JsonNode root = restTemplate.getForObject(API_URL, JsonNode.class, latitudes, longitudes);
+            if (root == null) {
+                outcome = "empty";
+                log.warn("날씨 API 응답이 비어 있습니다. 마지막 값 유지 - 격자: {}개", cells.size());
+                return;
+            }
+            outcome = "success";
+
+            // 좌표가 하나면 객체, 여러 개면 요청 순서대로 배열
+            for (int i = 0; i < cells.size(); i++) {
+                JsonNode current = (root.isArray() ? root.path(i) : root).path("current_weather");
+                JsonNode temperature = current.path("temperature");
+                JsonNode weatherCode = current.path("weathercode");
+
+                if (!temperature.isNumber() || !weatherCode.isNumber()) {
+                    log.warn("날씨 데이터를 해석할 수 없습니다. 마지막 값 유지 - 격자: {}", cells.get(i));
+                    continue;
+                }
+                cache.put(cells.get(i), new CachedWeather(temperature.asDouble(), weatherCode.asInt(), now));
+            }
         } catch (Exception e) {
-            log.warn("날씨 API 호출 실패", e);
-            return WeatherSummary.error("날씨 API 호출 오류: " + e.getMessage());
+            log.warn("날씨 API 호출 실패, 마지막 값 유지 - 격자: {}개", cells.size(), e);
+        } finally {
+            sample.stop(Timer.builder("weather.api.requests")
+                    .description("open-meteo 배치 요청 시간")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
 
+    private static double oldestAgeSeconds(Map<GridCell, CachedWeather> cache) {
+        long now = System.currentTimeMillis();
+        return cache.values().stream()
+                .mapToLong(cached -> now - cached.fetchedAt())
+                .max()
+                .orElse(0) / 1000.0;
+    }
+
+    private GridCell cellOf(Location location) {
+        double resolution = properties.getGridResolution();
+        return new GridCell(
+                Math.round(location.getLatitude() / resolution) * resolution,
+                Math.round(location.getLongitude() / resolution) * resolution);
+    }
+
+    private String formatCoordinate(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
     private String translateWeatherCode(int code) {
         return switch (code) {
             case 0 -> "맑음";
@@ -76,6 +232,16 @@ public class WeatherService {
         };
     }
 
+    private record GridCell(double latitude, double longitude) {
+    }
+
+    private record CachedWeather(double temperature, int weatherCode, long fetchedAt) {
+        WeatherSummary toSummary(String locationName, String description) {
+            String summary = String.format("%s 현재 %.1f°C, %s", locationName, temperature, description);
+            return WeatherSummary.success(summary, description, temperature);
+        }
+    }
+
     public record WeatherSummary(boolean success, String summary, String description, Double temperature) {
         public static WeatherSummary success(String summary, String description, Double temperature) {
             return new WeatherSummary(true, summary, description, temperature);
@@ -1,24 +1,30 @@
 package com.ddbb.service.management;
 
+import com.ddbb.client.AiCallMetrics;
+import com.ddbb.client.OpenAiChatClient;
+import com.ddbb.client.OutboundCallGuard;
 import com.ddbb.dto.management.*;
-import com.ddbb.entity.management.Inventory;
-import com.ddbb.entity.management.Sales;
 import com.ddbb.repository.management.InventoryRepository;
 import com.ddbb.repository.management.SalesRepository;
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
+import com.ddbb.repository.management.projection.DailySalesTotal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,20 +35,31 @@ public class AIAnalysisService {
     private final SalesRepository salesRepository;
     private final InventoryRepository inventoryRepository;
     private final SalesPredictionAI salesPredictionAI;  // LangChain4j AI Service
+    private final OpenAiChatClient openAiChatClient;
+    private final ThreadPoolTaskExecutor aiPredictionExecutor;
+    private final OutboundCallGuard outboundCallGuard;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final AiCallMetrics aiCallMetrics;
     
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    @Value("${ai.prediction.deadline-seconds:45}")
+    private long predictionDeadlineSeconds;
     
     /**
      * AI 분석 수행
+     * 데이터 수집은 읽기 전용 트랜잭션 하나에서 끝내고, 예측/OpenAI 호출은 커넥션을 반납한 뒤 수행
      */
     public AIAnalysisResponse performAnalysis(AIAnalysisRequest request) {
         try {
-            // 데이터 수집
-            List<InventoryAnalysisDto> inventoryData = collectInventoryData(request);
+            // 데이터 수집 (스냅샷)
+            AnalysisSnapshot snapshot = readOnlyTransactionTemplate.execute(status -> new AnalysisSnapshot(
+                    collectInventoryData(request),
+                    salesRepository.findDailyTotals(
+                            request.getStartDate().atStartOfDay(),
+                            request.getEndDate().plusDays(1).atStartOfDay())));
+            List<InventoryAnalysisDto> inventoryData = snapshot.inventoryData();
             
             // 차트용 데이터 생성
-            ChartDataDto chartData = buildChartData(request, inventoryData);
+            ChartDataDto chartData = buildChartData(request, inventoryData, snapshot.dailyTotals());
             
             // OpenAI API 호출
             String prompt = buildPrompt(request, inventoryData);
@@ -70,22 +87,27 @@ public class AIAnalysisService {
     /**
      * 차트용 데이터 생성
      */
-    private ChartDataDto buildChartData(AIAnalysisRequest request, List<InventoryAnalysisDto> inventoryData) {
+    private ChartDataDto buildChartData(AIAnalysisRequest request,
+                                        List<InventoryAnalysisDto> inventoryData,
+                                        List<DailySalesTotal> dailySalesTotals) {
         // 과거 데이터 수집
         Map<String, Integer> historicalSales = new LinkedHashMap<>();
         Map<String, Double> historicalRevenue = new LinkedHashMap<>();
         Map<String, Integer> breadHistoricalSales = new LinkedHashMap<>();
         
-        // 날짜별 과거 데이터
+        // 날짜별 과거 데이터 (기간 전체 일별 집계)
+        Map<LocalDate, DailySalesTotal> dailyTotals = new HashMap<>();
+        for (DailySalesTotal total : dailySalesTotals) {
+            dailyTotals.put(total.getSaleDate(), total);
+        }
+        
+        // 판매가 없는 날짜는 0으로 채움
         LocalDate currentDate = request.getStartDate();
         while (!currentDate.isAfter(request.getEndDate())) {
-            LocalDateTime dayStart = currentDate.atStartOfDay();
-            LocalDateTime dayEnd = currentDate.atTime(23, 59, 59);
+            DailySalesTotal total = dailyTotals.get(currentDate);
             
-            List<Sales> daySales = salesRepository.findBySaleDateBetween(dayStart, dayEnd);
-            
-            int totalQuantity = daySales.stream().mapToInt(Sales::getQuantity).sum();
-            double totalRevenue = daySales.stream().mapToDouble(s -> s.getTotalPrice().doubleValue()).sum();
+            int totalQuantity = total != null ? total.getQuantity().intValue() : 0;
+            double totalRevenue = total != null ? total.getRevenue().doubleValue() : 0.0;
             
             historicalSales.put(currentDate.toString(), totalQuantity);
             historicalRevenue.put(currentDate.toString(), totalRevenue);
@@ -98,14 +120,25 @@ public class AIAnalysisService {
             breadHistoricalSales.put(item.getBreadName(), item.getTotalSold());
         }
         
-        // 예측 데이터 생성 (LangChain4j 기반 AI 예측)
-        log.info("🤖 === AI 예측 데이터 생성 시작 ===");
-        log.info("📈 Step 1/3: 판매량 예측 호출...");
-        Map<String, Integer> predictedSales = generateAIPredictions(historicalSales, 7); // 7일 예측
-        log.info("📈 Step 2/3: 수익 예측 호출...");
-        Map<String, Double> predictedRevenue = generateAIRevenuePredictions(historicalRevenue, 7);
-        log.info("📈 Step 3/3: 빵별 판매량 예측 호출...");
-        Map<String, Integer> breadPredictedSales = generateAIBreadPredictions(inventoryData);
+        // 예측 데이터 생성 (LangChain4j 기반 AI 예측 - 3개 예측을 병렬 실행, 전체 마감 시간 공유)
+        log.info("🤖 === AI 예측 데이터 생성 시작 (병렬) ===");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(predictionDeadlineSeconds);
+        
+        // 예측은 다른 스레드에서 실행되지만 이 스레드가 결과를 기다리는 동안 커넥션을 잡고 있으면 안 됨 (스냅샷 이후이므로 정상이면 경고 없음)
+        outboundCallGuard.beforeOutboundCall("sales-prediction");
+        CompletableFuture<Map<String, Integer>> salesFuture = submitPrediction(
+                () -> generateAIPredictions(historicalSales, 7)); // 7일 예측
+        CompletableFuture<Map<String, Double>> revenueFuture = submitPrediction(
+                () -> generateAIRevenuePredictions(historicalRevenue, 7));
+        CompletableFuture<Map<String, Integer>> breadFuture = submitPrediction(
+                () -> generateAIBreadPredictions(inventoryData));
+        
+        Map<String, Integer> predictedSales = awaitPrediction("판매량", "sales", salesFuture, deadline,
+                () -> generatePredictions(historicalSales, 7));
+        Map<String, Double> predictedRevenue = awaitPrediction("수익", "revenue", revenueFuture, deadline,
+                () -> generateRevenuePredictions(historicalRevenue, 7));
+        Map<String, Integer> breadPredictedSales = awaitPrediction("빵별 판매량", "bread", breadFuture, deadline,
+                () -> generateBreadPredictions(inventoryData));
         log.info("✅ === AI 예측 데이터 생성 완료 ===");
         
         // 성장률 계산
@@ -127,6 +160,43 @@ public class AIAnalysisService {
                 .build();
     }
     
+    /**
+     * AI 예측 작업을 전용 스레드 풀에 제출 (풀이 가득 차면 실패한 future 반환)
+     */
+    private <T> CompletableFuture<T> submitPrediction(Supplier<T> prediction) {
+        try {
+            return CompletableFuture.supplyAsync(prediction, aiPredictionExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * 전체 마감 시간까지 예측 결과를 기다리고, 실패/시간 초과 시 해당 예측만 통계 방식으로 대체
+     *
+     * @param operation 메트릭 태그용 예측 이름
+     */
+    private <T> T awaitPrediction(String name, String operation, CompletableFuture<T> future, long deadline,
+                                  Supplier<T> fallback) {
+        String reason;
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            reason = "timeout";
+            log.warn("⏱️ {} 예측 시간 초과 ({}초), 백업 예측 방식 사용", name, predictionDeadlineSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = "interrupted";
+            log.warn("{} 예측 대기 중 인터럽트, 백업 예측 방식 사용", name);
+        } catch (ExecutionException e) {
+            reason = e.getCause() instanceof RejectedExecutionException ? "rejected" : "error";
+            log.error("❌ {} 예측 실행 실패, 백업 예측 방식 사용: {}", name, e.getCause().getMessage());
+        }
+        aiCallMetrics.fallback("langchain4j", operation, reason);
+        return fallback.get();
+    }
+    
     /**
      * LangChain4j 기반 판매량 예측 (구조화된 출력으로 일관성 보장)
      */
@@ -147,11 +217,8 @@ public class AIAnalysisService {
             log.info("📊 과거 데이터 포인트: {}개, 마지막 날짜: {}", historical.size(), lastDateStr);
             
             // LangChain4j AI Service 호출
-            PredictionResult result = salesPredictionAI.predictSales(
-                    historicalData.toString(),
-                    days,
-                    lastDateStr
-            );
+            PredictionResult result = aiCallMetrics.record("langchain4j", "sales",
+                    () -> salesPredictionAI.predictSales(historicalData.toString(), days, lastDateStr));
             
             // 통계적 신뢰도 계산 (AI가 반환한 값 대신 통계로 재계산)
             double calculatedConfidence = calculateSalesConfidence(historical, result.getPredictions());
@@ -168,6 +235,7 @@ public class AIAnalysisService {
             
         } catch (Exception e) {
             log.error("❌ LangChain4j 예측 실패, 백업 예측 방식 사용: {}", e.getMessage());
+            aiCallMetrics.fallback("langchain4j", "sales", "error");
             return generatePredictions(historical, days);
         }
     }
@@ -189,11 +257,8 @@ public class AIAnalysisService {
             log.info("🔥 LangChain4j 수익 예측 시작 - 예측 일수: {}일", days);
             log.info("📊 과거 수익 데이터 포인트: {}개, 마지막 날짜: {}", historical.size(), lastDateStr);
             
-            RevenuePredictionResult result = salesPredictionAI.predictRevenue(
-                    historicalData.toString(),
-                    days,
-                    lastDateStr
-            );
+            RevenuePredictionResult result = aiCallMetrics.record("langchain4j", "revenue",
+                    () -> salesPredictionAI.predictRevenue(historicalData.toString(), days, lastDateStr));
             
             // 통계적 신뢰도 계산
             double calculatedConfidence = calculateRevenueConfidence(historical, result.getPredictions());
@@ -210,6 +275,7 @@ public class AIAnalysisService {
             
         } catch (Exception e) {
             log.error("❌ LangChain4j 수익 예측 실패, 백업 예측 방식 사용: {}", e.getMessage());
+            aiCallMetrics.fallback("langchain4j", "revenue", "error");
             return generateRevenuePredictions(historical, days);
         }
     }
@@ -230,9 +296,8 @@ public class AIAnalysisService {
             
             log.info("🔥 LangChain4j 빵별 판매량 예측 시작 - 빵 종류: {}개", inventoryData.size());
             
-            BreadPredictionResult result = salesPredictionAI.predictBreadSales(
-                    inventoryInfo.toString()
-            );
+            BreadPredictionResult result = aiCallMetrics.record("langchain4j", "bread",
+                    () -> salesPredictionAI.predictBreadSales(inventoryInfo.toString()));
             
             // 통계적 신뢰도 계산
             double calculatedConfidence = calculateBreadConfidence(inventoryData, result.getPredictions());
@@ -249,14 +314,16 @@ public class AIAnalysisService {
             
         } catch (Exception e) {
             log.error("❌ LangChain4j 빵별 예측 실패, 백업 예측 방식 사용: {}", e.getMessage());
+            aiCallMetrics.fallback("langchain4j", "bread", "error");
             return generateBreadPredictions(inventoryData);
         }
     }
     
     /**
      * 판매량 예측 (이동 평균 기반) - 백업용
+     * 벤치마크(src/jmh)에서 직접 호출하므로 package-private
      */
-    private Map<String, Integer> generatePredictions(Map<String, Integer> historical, int days) {
+    Map<String, Integer> generatePredictions(Map<String, Integer> historical, int days) {
         Map<String, Integer> predictions = new LinkedHashMap<>();
         
         if (historical.isEmpty()) return predictions;
@@ -441,40 +508,33 @@ public class AIAnalysisService {
     }
     
     /**
-     * 재고 및 판매 데이터 수집
+     * 재고 및 판매 데이터 수집 (재고 + 빵 + 기간 판매 합계를 한 번의 쿼리로 조회)
      */
     private List<InventoryAnalysisDto> collectInventoryData(AIAnalysisRequest request) {
         LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = request.getEndDate().atTime(23, 59, 59);
+        LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
         
-        List<Inventory> inventories = inventoryRepository.findAll();
         long daysBetween = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
         
-        return inventories.stream().map(inventory -> {
-            // 해당 기간의 판매 데이터 조회
-            List<Sales> sales = salesRepository.findByBread_IdAndSaleDateBetween(
-                    inventory.getBread().getId(), 
-                    startDateTime, 
-                    endDateTime
-            );
-            
-            int totalSold = sales.stream()
-                    .mapToInt(Sales::getQuantity)
-                    .sum();
+        List<InventoryAnalysisDto> result = new ArrayList<>();
+        for (Object[] row : inventoryRepository.findStockWithSalesBetween(startDateTime, endDateTime)) {
+            int currentStock = ((Number) row[2]).intValue();
+            int totalSold = ((Number) row[4]).intValue();
             
             double avgDailySales = daysBetween > 0 ? (double) totalSold / daysBetween : 0;
-            int daysOfStock = avgDailySales > 0 ? (int) (inventory.getQuantity() / avgDailySales) : 999;
+            int daysOfStock = avgDailySales > 0 ? (int) (currentStock / avgDailySales) : 999;
             
-            return InventoryAnalysisDto.builder()
-                    .breadId(inventory.getBread().getId())
-                    .breadName(inventory.getBread().getName())
-                    .currentStock(inventory.getQuantity())
-                    .minStockLevel(inventory.getMinStockLevel())
+            result.add(InventoryAnalysisDto.builder()
+                    .breadId(((Number) row[0]).longValue())
+                    .breadName((String) row[1])
+                    .currentStock(currentStock)
+                    .minStockLevel((Integer) row[3])
                     .totalSold(totalSold)
                     .averageDailySales(avgDailySales)
                     .daysOfStock(daysOfStock)
-                    .build();
-        }).collect(Collectors.toList());
+                    .build());
+        }
+        return result;
     }
     
     /**
@@ -530,25 +590,9 @@ public class AIAnalysisService {
      */
     private String callOpenAI(String prompt) {
         try {
-            OpenAiService service = new OpenAiService(openaiApiKey, Duration.ofSeconds(60));
-            
-            ChatMessage systemMessage = new ChatMessage("system", 
-                    "당신은 빵집 재고 관리 전문 AI 어시스턴트입니다. 데이터를 분석하고 실용적인 조언을 제공합니다.");
-            ChatMessage userMessage = new ChatMessage("user", prompt);
-            
-            ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4o-mini")
-                    .messages(Arrays.asList(systemMessage, userMessage))
-                    .temperature(0.7)
-                    .maxTokens(2000)
-                    .build();
-            
-            return service.createChatCompletion(completionRequest)
-                    .getChoices()
-                    .get(0)
-                    .getMessage()
-                    .getContent();
-                    
+            return openAiChatClient.chat("ai-analysis",
+                    "당신은 빵집 재고 관리 전문 AI 어시스턴트입니다. 데이터를 분석하고 실용적인 조언을 제공합니다.",
+                    prompt, 0.7, 2000);
         } catch (Exception e) {
             log.error("OpenAI API 호출 실패", e);
             throw new RuntimeException("AI 분석 실패: " + e.getMessage());
@@ -610,8 +654,9 @@ public class AIAnalysisService {
     
     /**
      * 판매량 예측 신뢰도 계산 (통계적 방법)
+     * 벤치마크(src/jmh)에서 직접 호출하므로 package-private
      */
-    private double calculateSalesConfidence(Map<String, Integer> historical, Map<String, Integer> predicted) {
+    double calculateSalesConfidence(Map<String, Integer> historical, Map<String, Integer> predicted) {
         if (historical.isEmpty()) {
             return 0.75; // 데이터 부족 시 기본값
         }
@@ -878,5 +923,10 @@ public class AIAnalysisService {
         
         return confidence;
     }
+    
+    /**
+     * 분석 시작 시점의 재고/판매 스냅샷
+     */
+    private record AnalysisSnapshot(List<InventoryAnalysisDto> inventoryData, List<DailySalesTotal> dailyTotals) {
+    }
 }
-
@@ -0,0 +1,128 @@
+package com.ddbb.service.management;
+
+import com.ddbb.dto.management.BreadResponse;
+import com.ddbb.entity.management.Bread;
+import com.ddbb.repository.management.BreadRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 빵 카탈로그 캐시 (빵 ID → 이름/가격/설명)
+ * - 캐시에 없으면 DB에서 읽어 채움 (read-through, 여러 건은 한 번의 IN 조회)
+ * - 최대 catalog.bread.max-size 건, 저장 후 catalog.bread.ttl 이 지나면 다시 읽음 (DB 직접 수정 대비)
+ * - BreadService 의 등록/수정은 커밋 후 캐시를 최신 값으로 교체
+ * - 메트릭: cache.gets{cache=bread.catalog, result=hit|miss} 등 Caffeine 통계, bread.catalog.hit.ratio
+ *
+ * 캐시는 프로세스 메모리에 있으므로 다른 인스턴스의 수정은 TTL이 지나야 반영됩니다.
+ */
+@Component
+public class BreadCatalog {
+
+    private static final String CACHE_NAME = "bread.catalog";
+
+    private final BreadRepository breadRepository;
+    private final Cache<Long, CatalogBread> cache;
+
+    public BreadCatalog(BreadRepository breadRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.bread.max-size:1000}") long maxSize,
+                        @Value("${catalog.bread.ttl:10m}") Duration ttl) {
+        this.breadRepository = breadRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("bread.catalog.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("빵 카탈로그 캐시 적중률")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 빵 조회 (없으면 empty)
+     */
+    public Optional<CatalogBread> find(Long breadId) {
+        return Optional.ofNullable(cache.get(breadId,
+                id -> breadRepository.findById(id).map(CatalogBread::from).orElse(null)));
+    }
+
+    /**
+     * 빵 조회 (없으면 예외)
+     */
+    public CatalogBread get(Long breadId) {
+        return find(breadId)
+                .orElseThrow(() -> new RuntimeException("빵 정보를 찾을 수 없습니다. ID: " + breadId));
+    }
+
+    /**
+     * 여러 빵 조회 - 캐시에 없는 빵만 한 번에 DB에서 읽음 (존재하지 않는 ID는 결과에서 빠짐)
+     */
+    public Map<Long, CatalogBread> getAll(Collection<Long> breadIds) {
+        return cache.getAll(breadIds, this::loadAll);
+    }
+
+    /**
+     * 빵 등록/수정 후 호출 - 트랜잭션이 커밋되면 캐시를 새 값으로 교체
+     * 커밋 전까지는 기존 값을 지워 두어, 롤백되면 다음 조회 때 DB에서 다시 읽습니다.
+     */
+    public void refreshAfterCommit(Bread bread) {
+        CatalogBread updated = CatalogBread.from(bread);
+        cache.invalidate(updated.id());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(updated.id(), updated);
+                }
+            });
+        } else {
+            cache.put(updated.id(), updated);
+        }
+    }
+
+    private Map<Long, CatalogBread> loadAll(Set<? extends Long> breadIds) {
+        Map<Long, CatalogBread> loaded = new HashMap<>();
+        for (Bread bread : breadRepository.findAllById(List.copyOf(breadIds))) {
+            loaded.put(bread.getId(), CatalogBread.from(bread));
+        }
+        return loaded;
+    }
+
+    /**
+     * 캐시에 보관하는 빵 정보 (불변)
+     */
+    public record CatalogBread(Long id, String name, BigDecimal price, String description) {
+
+        static CatalogBread from(Bread bread) {
+            return new CatalogBread(bread.getId(), bread.getName(), bread.getPrice(), bread.getDescription());
+        }
+
+        public BreadResponse toResponse() {
+            return BreadResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .price(price)
+                    .description(description)
+                    .build();
+        }
+    }
+}
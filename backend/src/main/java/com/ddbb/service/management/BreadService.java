@@ -23,6 +23,7 @@ public class BreadService {
     
     private final BreadRepository breadRepository;
     private final InventoryRepository inventoryRepository;
+    private final BreadCatalog breadCatalog;
     
     /**
      * 모든 빵 조회
@@ -34,12 +35,12 @@ public class BreadService {
     }
     
     /**
-     * 특정 빵 조회
+     * 특정 빵 조회 (카탈로그 캐시)
      */
     public BreadResponse getBreadById(Long id) {
-        Bread bread = breadRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("빵을 찾을 수 없습니다. ID: " + id));
-        return BreadResponse.from(bread);
+        return breadCatalog.find(id)
+                .orElseThrow(() -> new RuntimeException("빵을 찾을 수 없습니다. ID: " + id))
+                .toResponse();
     }
     
     /**
@@ -65,6 +66,7 @@ public class BreadService {
                 .build();
         
         inventoryRepository.save(inventory);
+        breadCatalog.refreshAfterCommit(savedBread);
         
         return BreadResponse.from(savedBread);
     }
@@ -83,6 +85,7 @@ public class BreadService {
         bread.setDescription(request.getDescription());
         
         Bread updatedBread = breadRepository.save(bread);
+        breadCatalog.refreshAfterCommit(updatedBread);
         return BreadResponse.from(updatedBread);
     }
 }
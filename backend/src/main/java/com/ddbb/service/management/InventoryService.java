@@ -5,15 +5,26 @@ import com.ddbb.dto.management.InventoryUpdateRequest;
 import com.ddbb.entity.management.Bread;
 import com.ddbb.entity.management.Inventory;
 import com.ddbb.repository.management.BreadRepository;
+import com.ddbb.repository.management.InventoryJdbcRepository;
 import com.ddbb.repository.management.InventoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * 재고 관리 서비스
+ * 메트릭: inventory.stock.decrease{mode=single|batch|ledger, outcome} - 재고 차감 시간 (행 잠금 대기 포함)
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -21,14 +32,16 @@ public class InventoryService {
     
     private final InventoryRepository inventoryRepository;
     private final BreadRepository breadRepository;
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final ObjectProvider<StockLedger> stockLedgerProvider;
+    private final BreadCatalog breadCatalog;
+    private final MeterRegistry meterRegistry;
     
     /**
      * 모든 재고 조회
      */
     public List<InventoryResponse> getAllInventory() {
-        return inventoryRepository.findAllWithBread().stream()
-                .map(InventoryResponse::from)
-                .collect(Collectors.toList());
+        return toResponses(inventoryRepository.findAll());
     }
     
     /**
@@ -37,75 +50,219 @@ public class InventoryService {
     public InventoryResponse getInventoryByBreadId(Long breadId) {
         Inventory inventory = inventoryRepository.findByBreadId(breadId)
                 .orElseThrow(() -> new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId));
-        return InventoryResponse.from(inventory);
+        return toResponse(inventory);
     }
     
     /**
      * 재고 부족 품목 조회
+     * 재고 원장 모드에서는 DB 재고가 미반영 판매만큼 많으므로, 화면에 보이는 원장 수량으로 판정합니다.
      */
     public List<InventoryResponse> getLowStockItems() {
-        return inventoryRepository.findLowStockItems().stream()
-                .map(InventoryResponse::from)
+        if (stockLedgerProvider.getIfAvailable() == null) {
+            return toResponses(inventoryRepository.findLowStockItems());
+        }
+        return toResponses(inventoryRepository.findAll()).stream()
+                .filter(response -> Boolean.TRUE.equals(response.getIsLowStock()))
                 .collect(Collectors.toList());
     }
     
     /**
-     * 재고 업데이트
+     * 재고 업데이트 (실사 수량으로 맞춤)
+     * 행을 잠근 채 읽고 저장하므로 그 사이의 판매 차감/원장 반영을 덮어쓰지 않습니다.
+     * 재고 원장 모드에서는 DB 재고에 아직 반영되지 않은 판매가 남아 있으므로,
+     * 원장 수량과의 차이만큼 더해 반영이 끝난 뒤 요청한 수량이 되도록 합니다.
      */
     @Transactional
     public InventoryResponse updateInventory(Long breadId, InventoryUpdateRequest request) {
-        Inventory inventory = inventoryRepository.findByBreadId(breadId)
+        Inventory inventory = inventoryRepository.findByBreadIdForUpdate(breadId)
                 .orElseGet(() -> {
                     // 재고가 없으면 새로 생성
-                    Bread bread = breadRepository.findById(breadId)
-                            .orElseThrow(() -> new RuntimeException("빵 정보를 찾을 수 없습니다. ID: " + breadId));
+                    breadCatalog.get(breadId);
+                    Bread bread = breadRepository.getReferenceById(breadId);
                     return Inventory.builder()
                             .bread(bread)
                             .quantity(0)
                             .build();
                 });
         
-        inventory.setQuantity(request.getQuantity());
+        int delta = request.getQuantity() - currentQuantity(breadId, inventory);
+        inventory.setQuantity(inventory.getQuantity() + delta);
+        adjustLedgerAfterCommit(breadId, delta);
         if (request.getMinStockLevel() != null) {
             inventory.setMinStockLevel(request.getMinStockLevel());
         }
         inventory.setLastRestockedAt(LocalDateTime.now());
         
         Inventory savedInventory = inventoryRepository.save(inventory);
-        return InventoryResponse.from(savedInventory);
+        return toResponse(savedInventory);
     }
     
     /**
      * 재고 증가 (입고)
+     * 현재 값에 더하는 UPDATE 한 번으로 반영합니다.
      */
     @Transactional
     public InventoryResponse increaseStock(Long breadId, Integer quantity) {
+        if (inventoryRepository.increaseStock(breadId, quantity, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId);
+        }
+        adjustLedgerAfterCommit(breadId, quantity);
+        
         Inventory inventory = inventoryRepository.findByBreadId(breadId)
                 .orElseThrow(() -> new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId));
-        
-        inventory.setQuantity(inventory.getQuantity() + quantity);
-        inventory.setLastRestockedAt(LocalDateTime.now());
-        
-        Inventory savedInventory = inventoryRepository.save(inventory);
-        return InventoryResponse.from(savedInventory);
+        return toResponse(inventory);
     }
     
     /**
      * 재고 감소 (판매)
+     * 조건부 UPDATE 한 번으로 차감하며, 재고가 부족하면 예외를 던집니다.
      */
     @Transactional
     public InventoryResponse decreaseStock(Long breadId, Integer quantity) {
+        if (!tryDecreaseStock(breadId, quantity)) {
+            Inventory inventory = inventoryRepository.findByBreadId(breadId)
+                    .orElseThrow(() -> new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId));
+            throw new RuntimeException("재고가 부족합니다. 현재 재고: " + inventory.getQuantity());
+        }
+        
         Inventory inventory = inventoryRepository.findByBreadId(breadId)
                 .orElseThrow(() -> new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId));
-        
-        if (inventory.getQuantity() < quantity) {
-            throw new RuntimeException("재고가 부족합니다. 현재 재고: " + inventory.getQuantity());
+        return toResponse(inventory);
+    }
+    
+    /**
+     * 재고 감소 시도 (판매)
+     * 재고가 충분하면 원자적으로 차감하고 true, 부족하거나 재고 정보가 없으면 false를 반환합니다.
+     * 재고 원장 모드에서는 DB 재고가 미반영 판매만큼 원장보다 많으므로, 원장에서 먼저 예약한 뒤 DB에 바로 반영합니다.
+     */
+    @Transactional
+    public boolean tryDecreaseStock(Long breadId, Integer quantity) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        StockLedger ledger = stockLedgerProvider.getIfAvailable();
+        boolean decreased;
+        if (ledger != null) {
+            decreased = ledger.tryReserve(breadId, quantity);
+            if (decreased) {
+                inventoryJdbcRepository.applyStockDeltas(Map.of(breadId, quantity));
+            }
+        } else {
+            decreased = inventoryRepository.decreaseStockIfAvailable(breadId, quantity, LocalDateTime.now()) == 1;
+        }
+        recordDecrease(sample, ledger != null ? "ledger" : "single", decreased ? "success" : "insufficient");
+        return decreased;
+    }
+    
+    /**
+     * 재고 일괄 감소 (결제/판매)
+     * 재고를 한 번에 조회한 뒤 decreaseStock과 같은 조건부 UPDATE를 배치로 실행합니다.
+     * 하나라도 재고가 부족하면 예외를 던져 트랜잭션 전체를 롤백합니다.
+     * 재고 원장 모드에서는 원장에서만 예약하고, DB 반영은 판매 기록(stock_applied = false)을 통해 지연됩니다.
+     * 행 잠금 순서를 고정하기 위해 빵 ID 순으로 차감합니다 (동시 결제 간 교착 방지).
+     *
+     * @param requested 빵 ID별 차감 수량
+     */
+    @Transactional
+    public void decreaseStockBatch(Map<Long, Integer> requested) {
+        Map<Long, Integer> quantities = new TreeMap<>(requested);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        StockLedger ledger = stockLedgerProvider.getIfAvailable();
+        if (ledger != null) {
+            String outcome = "failure";
+            try {
+                ledger.reserveAll(quantities);
+                outcome = "success";
+            } finally {
+                recordDecrease(sample, "ledger", outcome);
+            }
+            return;
         }
         
-        inventory.setQuantity(inventory.getQuantity() - quantity);
+        String outcome = "error";
+        try {
+            Map<Long, Inventory> inventories = inventoryRepository.findByBreadIdIn(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(inventory -> inventory.getBread().getId(), Function.identity()));
+            
+            for (Long breadId : quantities.keySet()) {
+                if (!inventories.containsKey(breadId)) {
+                    outcome = "not_found";
+                    throw new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId);
+                }
+            }
+            
+            int[] updatedRows = inventoryJdbcRepository.decreaseStockAll(quantities);
+            
+            int index = 0;
+            for (Long breadId : quantities.keySet()) {
+                if (updatedRows[index++] == 0) {
+                    outcome = "insufficient";
+                    throw new RuntimeException("재고가 부족합니다. Bread ID: " + breadId
+                            + ", 현재 재고: " + inventories.get(breadId).getQuantity());
+                }
+            }
+            outcome = "success";
+        } finally {
+            recordDecrease(sample, "batch", outcome);
+        }
+    }
+    
+    /**
+     * 판매 재고의 DB 반영이 재고 원장 flush로 지연되는지 여부
+     * true이면 판매 기록을 stock_applied = false로 저장해야 합니다.
+     */
+    public boolean isStockDeferred() {
+        return stockLedgerProvider.getIfAvailable() != null;
+    }
+    
+    private List<InventoryResponse> toResponses(List<Inventory> inventories) {
+        // 빵 정보는 카탈로그에서 한 번에 조회 (캐시에 없는 빵만 IN 조회)
+        Map<Long, BreadCatalog.CatalogBread> breads = breadCatalog.getAll(inventories.stream()
+                .map(inventory -> inventory.getBread().getId())
+                .collect(Collectors.toSet()));
         
-        Inventory savedInventory = inventoryRepository.save(inventory);
-        return InventoryResponse.from(savedInventory);
+        return inventories.stream()
+                .map(inventory -> toResponse(inventory, breads.get(inventory.getBread().getId())))
+                .collect(Collectors.toList());
+    }
+    
+    private InventoryResponse toResponse(Inventory inventory) {
+        return toResponse(inventory, breadCatalog.find(inventory.getBread().getId()).orElse(null));
+    }
+    
+    private InventoryResponse toResponse(Inventory inventory, BreadCatalog.CatalogBread bread) {
+        InventoryResponse response = bread != null
+                ? InventoryResponse.from(inventory, bread.toResponse())
+                : InventoryResponse.from(inventory);
+        StockLedger ledger = stockLedgerProvider.getIfAvailable();
+        Integer available = ledger != null ? ledger.getAvailable(response.getBreadId()) : null;
+        if (available != null) {
+            response.setQuantity(available);
+            response.setIsLowStock(response.getMinStockLevel() != null && available <= response.getMinStockLevel());
+        }
+        return response;
+    }
+    
+    private void recordDecrease(Timer.Sample sample, String mode, String outcome) {
+        sample.stop(Timer.builder("inventory.stock.decrease")
+                .description("재고 차감 시간")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+    
+    /**
+     * 판매 가능한 현재 수량 - 재고 원장 모드면 원장 수량, 아니면 DB 재고
+     */
+    private int currentQuantity(Long breadId, Inventory inventory) {
+        StockLedger ledger = stockLedgerProvider.getIfAvailable();
+        Integer available = ledger != null ? ledger.getAvailable(breadId) : null;
+        return available != null ? available : inventory.getQuantity();
+    }
+    
+    private void adjustLedgerAfterCommit(Long breadId, int delta) {
+        StockLedger ledger = stockLedgerProvider.getIfAvailable();
+        if (ledger != null && delta != 0) {
+            ledger.adjustAfterCommit(breadId, delta);
+        }
     }
 }
-
@@ -0,0 +1,41 @@
+package com.ddbb.service.management;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 판매 내역 내보내기 동시 실행 제한
+ *
+ * 내보내기 한 건이 응답을 다 쓸 때까지 기본 작업 풀 스레드 하나를 쓰고, 페이지마다 DB 조회를 반복합니다.
+ * 동시에 몰리면 작업 풀과 커넥션 풀을 나눠 쓰는 다른 요청이 밀리므로 동시 실행 수를 제한하고
+ * 초과 요청은 기다리지 않고 바로 거절합니다.
+ */
+@Component
+public class SalesExportLimiter {
+
+    private final Semaphore permits;
+
+    public SalesExportLimiter(MeterRegistry meterRegistry,
+                              @Value("${sales.export.max-concurrent:2}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("sales.export.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("진행 중인 판매 내역 내보내기 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 내보내기 슬롯 획득 - 남은 슬롯이 없으면 false (획득했으면 반드시 release 호출)
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ddbb.service.management;
+
+import com.ddbb.repository.management.SalesPartitionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static com.ddbb.repository.management.SalesPartitionJdbcRepository.FUTURE_PARTITION;
+
+/**
+ * sales 월별 파티션 관리 (sales.partition.enabled=true 일 때만 활성화)
+ * - 이번 달부터 months-ahead 개월 뒤까지 월 파티션을 미리 생성
+ * - retention-months 보다 오래된 월 파티션은 sales_archive 에 일자/빵 단위로 압축 보관한 뒤 삭제
+ *   (일별 집계 daily_sales_rollup 은 그대로 유지되므로 통계 API 결과는 달라지지 않음)
+ *
+ * 파티션 구조는 V4__partition_sales_by_month.sql 에서 만들어집니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sales.partition.enabled", havingValue = "true")
+public class SalesPartitionService {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final SalesPartitionJdbcRepository partitionRepository;
+
+    @Value("${sales.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${sales.partition.retention-months:24}")
+    private int retentionMonths;
+
+    /**
+     * 기동 시 한 번 실행 (서버가 오래 꺼져 있던 경우 누락된 월 파티션 보충)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    /**
+     * 월 파티션 생성 및 보관 기간이 지난 파티션 정리 - 매일 새벽
+     */
+    @Scheduled(cron = "${sales.partition.maintenance-cron:0 10 4 * * *}")
+    public void maintain() {
+        try {
+            List<String> partitionNames = partitionRepository.findPartitionNames();
+            if (!partitionNames.contains(FUTURE_PARTITION)) {
+                log.warn("sales 테이블이 월별 파티셔닝되어 있지 않아 파티션 관리를 건너뜁니다.");
+                return;
+            }
+
+            TreeSet<YearMonth> months = new TreeSet<>();
+            for (String name : partitionNames) {
+                if (MONTH_PARTITION.matcher(name).matches()) {
+                    months.add(YearMonth.parse(name.substring(1), PARTITION_MONTH));
+                }
+            }
+
+            YearMonth currentMonth = YearMonth.now();
+            createFuturePartitions(months, currentMonth);
+            if (retentionMonths > 0) {
+                archiveExpiredPartitions(months, currentMonth.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException e) {
+            log.error("sales 파티션 관리 실패", e);
+        }
+    }
+
+    private void createFuturePartitions(TreeSet<YearMonth> months, YearMonth currentMonth) {
+        YearMonth lastMonth = months.isEmpty() ? currentMonth.minusMonths(1) : months.last();
+        YearMonth targetMonth = currentMonth.plusMonths(monthsAhead);
+
+        for (YearMonth month = lastMonth.plusMonths(1); !month.isAfter(targetMonth); month = month.plusMonths(1)) {
+            partitionRepository.addMonthPartition(partitionName(month), month.plusMonths(1).atDay(1));
+            log.info("sales 파티션 생성 - {}", partitionName(month));
+        }
+    }
+
+    private void archiveExpiredPartitions(TreeSet<YearMonth> months, YearMonth oldestRetainedMonth) {
+        for (YearMonth month : months.headSet(oldestRetainedMonth)) {
+            String name = partitionName(month);
+            if (partitionRepository.hasUnappliedStock(name)) {
+                log.warn("재고 미반영 판매가 남아 있어 파티션 보관을 미룹니다 - {}", name);
+                return;
+            }
+
+            int archived = partitionRepository.archivePartition(name);
+            partitionRepository.dropPartition(name);
+            log.info("sales 파티션 보관 완료 - {}, 보관 행: {}", name, archived);
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_MONTH);
+    }
+}
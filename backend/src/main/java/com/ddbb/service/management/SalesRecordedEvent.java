@@ -0,0 +1,9 @@
+package com.ddbb.service.management;
+
+/**
+ * 판매 기록 이벤트 (판매 생성/결제 완료 시 발행)
+ *
+ * @param salesCount 이번에 기록된 판매 건수
+ */
+public record SalesRecordedEvent(int salesCount) {
+}
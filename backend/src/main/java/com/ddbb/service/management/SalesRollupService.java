@@ -0,0 +1,148 @@
+package com.ddbb.service.management;
+
+import com.ddbb.dto.management.DailySalesResponse;
+import com.ddbb.entity.management.Sales;
+import com.ddbb.repository.management.DailySalesRollupRepository;
+import com.ddbb.repository.management.SalesJdbcRepository;
+import com.ddbb.repository.management.SalesPartitionJdbcRepository;
+import com.ddbb.repository.management.SalesRepository;
+import com.ddbb.repository.management.projection.DailySalesTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일별 판매 집계(daily_sales_rollup) 관리
+ * - 판매 기록 시 증분 갱신 (쓰기 경로)
+ * - 통계 조회 (읽기 경로)
+ * - sales 테이블 기준 재계산 (백필/정합성 보정), 파티션 보관된 기간은 sales_archive 기준
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesRollupService {
+
+    private final DailySalesRollupRepository rollupRepository;
+    private final SalesRepository salesRepository;
+    private final SalesJdbcRepository salesJdbcRepository;
+    private final SalesPartitionJdbcRepository salesPartitionJdbcRepository;
+
+    @Value("${sales.rollup.reconcile-days:3}")
+    private int reconcileDays;
+
+    /**
+     * 판매 1건을 집계에 반영 (호출한 트랜잭션에 참여)
+     */
+    @Transactional
+    public void record(Sales sales) {
+        rollupRepository.upsert(
+                sales.getSaleDate().toLocalDate(),
+                sales.getBread().getId(),
+                sales.getQuantity(),
+                sales.getTotalPrice());
+    }
+
+    /**
+     * 여러 판매 건을 집계에 일괄 반영 (JDBC 배치, 호출한 트랜잭션에 참여)
+     */
+    @Transactional
+    public void recordAll(List<Sales> salesList) {
+        salesJdbcRepository.addToDailyRollup(salesList);
+    }
+
+    /**
+     * 기간별 일별 합계 (판매가 있는 날짜만, 날짜순)
+     */
+    public List<DailySalesResponse> getDailyTotals(LocalDate startDate, LocalDate endDate) {
+        List<DailySalesResponse> dailyStats = new ArrayList<>();
+        for (DailySalesTotal total : rollupRepository.findDailyTotals(startDate, endDate)) {
+            dailyStats.add(DailySalesResponse.builder()
+                    .date(total.getSaleDate())
+                    .totalQuantity(total.getQuantity().intValue())
+                    .totalRevenue(total.getRevenue())
+                    .build());
+        }
+        return dailyStats;
+    }
+
+    /**
+     * 기간 재계산 - 해당 기간 집계를 지우고 sales 테이블(보관된 기간은 sales_archive)에서 다시 생성
+     */
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        rollupRepository.deleteBetween(startDate, endDate);
+        int rows = rollupRepository.insertFromSales(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        rows += rollupRepository.insertFromArchive(startDate, endDate);
+        log.info("판매 집계 재계산 완료 - 기간: {} ~ {}, 집계 행: {}", startDate, endDate, rows);
+        return rows;
+    }
+
+    /**
+     * 전체 재계산 (백필)
+     */
+    @Transactional
+    public int rebuildAll() {
+        LocalDate firstDate = earlier(toDate(salesRepository.findFirstSaleDate()),
+                salesPartitionJdbcRepository.findFirstArchivedDate());
+        LocalDate lastDate = later(toDate(salesRepository.findLastSaleDate()),
+                salesPartitionJdbcRepository.findLastArchivedDate());
+
+        if (firstDate == null || lastDate == null) {
+            rollupRepository.deleteAllInBatch();
+            return 0;
+        }
+        return rebuild(firstDate, lastDate);
+    }
+
+    /**
+     * 최근 완료된 날짜(어제까지) 정합성 보정 - 매일 새벽
+     * 오늘은 판매가 진행 중이므로 제외
+     */
+    @Scheduled(cron = "${sales.rollup.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcileRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday.minusDays(Math.max(reconcileDays - 1, 0)), yesterday);
+    }
+
+    /**
+     * 기동 시 집계가 비어 있으면 sales 테이블로부터 백필
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && salesRepository.count() > 0) {
+            log.info("판매 집계가 비어 있어 백필을 시작합니다.");
+            rebuildAll();
+        }
+    }
+
+    private LocalDate toDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
+
+    private LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+
+    private LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,74 +1,190 @@
 package com.ddbb.service.management;
 
 import com.ddbb.dto.management.*;
-import com.ddbb.entity.management.Bread;
 import com.ddbb.entity.management.Sales;
 import com.ddbb.repository.management.BreadRepository;
 import com.ddbb.repository.management.SalesRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class SalesService {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    
     private final SalesRepository salesRepository;
     private final BreadRepository breadRepository;
+    private final BreadCatalog breadCatalog;
     private final InventoryService inventoryService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 판매 기록 생성
      */
     @Transactional
     public SalesResponse createSale(SalesCreateRequest request) {
-        Bread bread = breadRepository.findById(request.getBreadId())
-                .orElseThrow(() -> new RuntimeException("빵 정보를 찾을 수 없습니다. ID: " + request.getBreadId()));
+        BreadCatalog.CatalogBread bread = breadCatalog.get(request.getBreadId());
         
-        // 재고 확인 및 감소
-        inventoryService.decreaseStock(request.getBreadId(), request.getQuantity());
+        // 재고 확인 및 감소 (재고 원장 모드에서는 원장 예약)
+        inventoryService.decreaseStockBatch(Map.of(request.getBreadId(), request.getQuantity()));
         
         // 판매 기록 생성
-        BigDecimal totalPrice = bread.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
+        BigDecimal totalPrice = bread.price().multiply(BigDecimal.valueOf(request.getQuantity()));
         
         Sales sales = Sales.builder()
-                .bread(bread)
+                .bread(breadRepository.getReferenceById(bread.id()))
                 .quantity(request.getQuantity())
                 .totalPrice(totalPrice)
                 .saleDate(LocalDateTime.now())
+                .stockApplied(!inventoryService.isStockDeferred())
                 .build();
         
         Sales savedSales = salesRepository.save(sales);
-        return SalesResponse.from(savedSales);
+        salesRollupService.record(savedSales);
+        eventPublisher.publishEvent(new SalesRecordedEvent(1));
+        return SalesResponse.builder()
+                .id(savedSales.getId())
+                .breadId(bread.id())
+                .breadName(bread.name())
+                .quantity(savedSales.getQuantity())
+                .totalPrice(savedSales.getTotalPrice())
+                .saleDate(savedSales.getSaleDate())
+                .build();
     }
     
     /**
      * 기간별 판매 내역 조회
      */
     public List<SalesResponse> getSalesByPeriod(LocalDateTime startDate, LocalDateTime endDate) {
-        return salesRepository.findSalesInPeriod(startDate, endDate).stream()
-                .map(SalesResponse::from)
-                .collect(Collectors.toList());
+        return salesRepository.findResponsesInPeriod(startDate, endDate);
     }
     
     /**
      * 특정 빵의 기간별 판매 내역 조회
      */
     public List<SalesResponse> getSalesByBreadAndPeriod(Long breadId, LocalDateTime startDate, LocalDateTime endDate) {
-        return salesRepository.findByBreadIdAndSaleDateBetween(breadId, startDate, endDate).stream()
-                .map(SalesResponse::from)
-                .collect(Collectors.toList());
+        return salesRepository.findResponsesByBreadAndPeriod(breadId, startDate, endDate);
+    }
+    
+    /**
+     * 기간별 판매 내역 커서 페이지 (sale_date, id 순, endDate 미포함)
+     * OFFSET 없이 직전 페이지 마지막 행 다음부터 (sale_date, id) 인덱스 순서대로 읽으므로 (V5__sales_keyset_indexes.sql)
+     * 정렬 없이 페이지 크기만큼만 읽고, 페이지 위치와 상관없이 조회 비용이 같습니다.
+     *
+     * @param breadId 특정 빵만 조회할 때 (null이면 전체)
+     * @param cursor  직전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    public SalesPageResponse getSalesPage(Long breadId, LocalDateTime startDate, LocalDateTime endDate,
+                                          String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime afterSaleDate = startDate;
+        long afterId = 0L;
+        
+        if (cursor != null && !cursor.isBlank()) {
+            SalesCursor position = decodeCursor(cursor);
+            afterSaleDate = position.saleDate();
+            afterId = position.id();
+        }
+        
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        Limit limit = Limit.of(pageSize + 1);
+        List<SalesResponse> rows = breadId == null
+                ? salesRepository.findPageAfter(startDate, endDate, afterSaleDate, afterId, limit)
+                : salesRepository.findPageByBreadAfter(breadId, startDate, endDate, afterSaleDate, afterId, limit);
+        
+        boolean hasNext = rows.size() > pageSize;
+        List<SalesResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            SalesResponse last = content.get(content.size() - 1);
+            nextCursor = encodeCursor(last.getSaleDate(), last.getId());
+        }
+        
+        return SalesPageResponse.builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+    
+    /**
+     * 커서 위치 - 직전 페이지 마지막 행의 (sale_date, id)
+     */
+    record SalesCursor(LocalDateTime saleDate, long id) {
+    }
+    
+    /**
+     * (sale_date, id) 를 URL 에 그대로 실을 수 있는 Base64url 문자열로 인코딩
+     */
+    static String encodeCursor(LocalDateTime saleDate, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((saleDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static SalesCursor decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("필드 개수가 맞지 않습니다");
+            }
+            return new SalesCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("잘못된 커서입니다: " + cursor);
+        }
+    }
+    
+    /**
+     * 기간별 판매 내역 내보내기 - 커서 페이지 단위로 읽어 바로 consumer로 전달 (sale_date, id 순, endDate 미포함)
+     * 기간 길이와 상관없이 메모리 사용량이 EXPORT_CHUNK_SIZE 행 수준으로 일정합니다.
+     *
+     * 트랜잭션 없이 실행되어 페이지 조회마다 커넥션을 잠깐 빌리고 바로 반납합니다.
+     * 다운로드가 느린 클라이언트라도 응답을 쓰는 동안에는 커넥션을 잡고 있지 않으므로
+     * 풀을 점유하거나 leak-detection 경고를 내지 않습니다.
+     * (한 번에 읽는 스냅샷이 아니므로 내보내는 도중 추가된 판매는 포함될 수도, 빠질 수도 있습니다)
+     *
+     * @param breadId 특정 빵만 내보낼 때 (null이면 전체)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportSales(Long breadId, LocalDateTime startDate, LocalDateTime endDate,
+                            Consumer<SalesResponse> consumer) {
+        LocalDateTime afterSaleDate = startDate;
+        long afterId = 0L;
+        Limit limit = Limit.of(EXPORT_CHUNK_SIZE);
+        
+        while (true) {
+            List<SalesResponse> chunk = breadId == null
+                    ? salesRepository.findPageAfter(startDate, endDate, afterSaleDate, afterId, limit)
+                    : salesRepository.findPageByBreadAfter(breadId, startDate, endDate, afterSaleDate, afterId, limit);
+            chunk.forEach(consumer);
+            
+            if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                return;
+            }
+            SalesResponse last = chunk.get(chunk.size() - 1);
+            afterSaleDate = last.getSaleDate();
+            afterId = last.getId();
+        }
     }
     
     /**
@@ -141,40 +257,15 @@ public class SalesService {
     }
     
     /**
-     * 일별 판매 통계 - 그래프용
+     * 일별 판매 통계 - 그래프용 (일별 집계 테이블 기준)
      */
     public List<DailySalesResponse> getDailySalesStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Sales> sales = salesRepository.findSalesInPeriod(startDate, endDate);
-        
-        // 날짜별로 그룹핑
-        Map<LocalDate, List<Sales>> salesByDate = sales.stream()
-                .collect(Collectors.groupingBy(s -> s.getSaleDate().toLocalDate()));
-        
-        // 각 날짜별 통계 계산
-        List<DailySalesResponse> dailyStats = new ArrayList<>();
-        for (Map.Entry<LocalDate, List<Sales>> entry : salesByDate.entrySet()) {
-            LocalDate date = entry.getKey();
-            List<Sales> daySales = entry.getValue();
-            
-            int totalQuantity = daySales.stream()
-                    .mapToInt(Sales::getQuantity)
-                    .sum();
-            
-            BigDecimal totalRevenue = daySales.stream()
-                    .map(Sales::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            dailyStats.add(DailySalesResponse.builder()
-                    .date(date)
-                    .totalQuantity(totalQuantity)
-                    .totalRevenue(totalRevenue)
-                    .build());
-        }
-        
-        // 날짜순 정렬
-        dailyStats.sort((a, b) -> a.getDate().compareTo(b.getDate()));
+        // 종료 시각이 자정이면 해당 날짜는 포함하지 않음 (기존 endDate 미포함 조건과 동일)
+        LocalDate endDay = endDate.toLocalTime().equals(LocalTime.MIDNIGHT) && endDate.isAfter(startDate)
+                ? endDate.toLocalDate().minusDays(1)
+                : endDate.toLocalDate();
         
-        return dailyStats;
+        return salesRollupService.getDailyTotals(startDate.toLocalDate(), endDay);
     }
     
     /**
@@ -0,0 +1,93 @@
+package com.ddbb.service.management;
+
+import com.ddbb.repository.management.InventoryJdbcRepository;
+import com.ddbb.repository.management.SalesJdbcRepository;
+import com.ddbb.repository.management.SalesJdbcRepository.UnappliedSale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 재고 반영 저널 - 재고 차감이 아직 DB에 반영되지 않은 판매(stock_applied = false)를 inventory 테이블에 옮겨 적습니다.
+ *
+ * - 재고 원장(StockLedger) 모드에서는 write-behind flusher가 주기적으로 호출합니다.
+ * - 원장을 끄고 기동하면 켜져 있던 동안 남은 미반영 판매를 기동 시 모두 반영합니다.
+ *   (원장이 꺼져 있으면 더 이상 flusher가 돌지 않으므로, 그대로 두면 재고에 영영 반영되지 않음)
+ */
+@Slf4j
+@Component
+public class StockJournal {
+
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final SalesJdbcRepository salesJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean ledgerEnabled;
+    private final int batchSize;
+
+    public StockJournal(InventoryJdbcRepository inventoryJdbcRepository,
+                        SalesJdbcRepository salesJdbcRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${inventory.ledger.enabled:false}") boolean ledgerEnabled,
+                        @Value("${inventory.ledger.flush-batch-size:1000}") int batchSize) {
+        this.inventoryJdbcRepository = inventoryJdbcRepository;
+        this.salesJdbcRepository = salesJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerEnabled = ledgerEnabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 미반영 판매를 batchSize 단위로 모두 반영
+     *
+     * @return 반영한 판매 건수
+     */
+    public int applyPending() {
+        int total = 0;
+        int applied;
+        do {
+            applied = applyBatch();
+            total += applied;
+        } while (applied == batchSize);
+        return total;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void drainWhenLedgerDisabled() {
+        if (ledgerEnabled) {
+            return;
+        }
+        int applied = applyPending();
+        if (applied > 0) {
+            log.info("재고 원장 비활성 - 남아 있던 미반영 판매 {}건을 재고에 반영", applied);
+        }
+    }
+
+    private int applyBatch() {
+        Integer applied = transactionTemplate.execute(status -> {
+            List<UnappliedSale> pending = salesJdbcRepository.findUnappliedStockForUpdate(batchSize);
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            // 행 잠금 순서를 결제 경로와 같게 빵 ID 순으로
+            Map<Long, Integer> deltas = new TreeMap<>();
+            for (UnappliedSale sale : pending) {
+                deltas.merge(sale.breadId(), sale.quantity(), Integer::sum);
+            }
+
+            inventoryJdbcRepository.applyStockDeltas(deltas);
+            salesJdbcRepository.markStockApplied(pending);
+            log.debug("재고 반영 - 판매: {}건, 품목: {}개", pending.size(), deltas.size());
+            return pending.size();
+        });
+        return applied != null ? applied : 0;
+    }
+}
@@ -0,0 +1,190 @@
+package com.ddbb.service.management;
+
+import com.ddbb.entity.management.Inventory;
+import com.ddbb.repository.management.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인메모리 재고 원장 (inventory.ledger.enabled=true 일 때만 활성화)
+ *
+ * - 빵별 AtomicInteger 카운터에서 CAS로 재고를 예약하므로 결제 시 재고 행을 잠그지 않습니다.
+ * - 판매 행은 stock_applied = false로 저장되어 재고 반영 저널 역할을 하며,
+ *   write-behind flusher가 주기적으로 StockJournal을 통해 inventory 테이블에 배치 반영합니다.
+ * - 기동 시 미반영 판매를 먼저 재생(크래시 복구)한 뒤 findAllWithBread로 원장을 다시 만듭니다.
+ *
+ * - 메트릭: inventory.ledger.reserve.retries (CAS 경합으로 다시 시도한 횟수), inventory.ledger.reserve.rejected (재고 부족 거절)
+ *
+ * 원장은 프로세스 메모리에 있으므로 애플리케이션 인스턴스가 하나일 때만 사용해야 합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.ledger.enabled", havingValue = "true")
+public class StockLedger {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockJournal stockJournal;
+    private final Counter reserveRetries;
+    private final Counter reserveRejected;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public StockLedger(InventoryRepository inventoryRepository,
+                       StockJournal stockJournal,
+                       MeterRegistry meterRegistry) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockJournal = stockJournal;
+        this.reserveRetries = Counter.builder("inventory.ledger.reserve.retries")
+                .description("재고 원장 예약 CAS 경합 재시도 횟수")
+                .register(meterRegistry);
+        this.reserveRejected = Counter.builder("inventory.ledger.reserve.rejected")
+                .description("재고 부족으로 거절된 재고 원장 예약 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 여러 빵의 재고를 한꺼번에 예약 (전부 성공 또는 전부 실패)
+     * 진행 중인 트랜잭션이 롤백되면 예약도 되돌립니다.
+     *
+     * @param quantities 빵 ID별 예약 수량
+     */
+    public void reserveAll(Map<Long, Integer> quantities) {
+        checkReady();
+
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            Long breadId = entry.getKey();
+            AtomicInteger counter = available.get(breadId);
+            if (counter == null) {
+                release(reserved);
+                throw new RuntimeException("재고 정보를 찾을 수 없습니다. Bread ID: " + breadId);
+            }
+            if (!compareAndReserve(counter, entry.getValue())) {
+                release(reserved);
+                reserveRejected.increment();
+                throw new RuntimeException("재고가 부족합니다. Bread ID: " + breadId + ", 현재 재고: " + counter.get());
+            }
+            reserved.put(breadId, entry.getValue());
+        }
+
+        releaseOnRollback(reserved);
+    }
+
+    /**
+     * 한 품목 예약 시도 - 재고가 부족하거나 원장에 없으면 false
+     * 진행 중인 트랜잭션이 롤백되면 예약도 되돌립니다.
+     */
+    public boolean tryReserve(Long breadId, int quantity) {
+        checkReady();
+
+        AtomicInteger counter = available.get(breadId);
+        if (counter == null || !compareAndReserve(counter, quantity)) {
+            reserveRejected.increment();
+            return false;
+        }
+        releaseOnRollback(Map.of(breadId, quantity));
+        return true;
+    }
+
+    /**
+     * DB에 직접 반영된 재고 변경(입고, 수동 조정 등)을 커밋 후 원장에 반영
+     */
+    public void adjustAfterCommit(Long breadId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjust(breadId, delta);
+                }
+            });
+        } else {
+            adjust(breadId, delta);
+        }
+    }
+
+    /**
+     * 현재 예약 가능 수량 (원장에 없으면 null)
+     */
+    public Integer getAvailable(Long breadId) {
+        AtomicInteger counter = available.get(breadId);
+        return counter != null ? counter.get() : null;
+    }
+
+    /**
+     * write-behind - 미반영 판매를 모아 inventory 테이블에 배치 반영
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        stockJournal.applyPending();
+    }
+
+    /**
+     * 기동 시 크래시 복구 - 지난 실행에서 반영하지 못한 판매를 재생한 뒤 원장을 재구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        flush();
+
+        available.clear();
+        for (Inventory inventory : inventoryRepository.findAllWithBread()) {
+            available.put(inventory.getBread().getId(), new AtomicInteger(inventory.getQuantity()));
+        }
+        ready = true;
+        log.info("재고 원장 준비 완료 - 품목 수: {}", available.size());
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new RuntimeException("재고 원장을 준비 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void releaseOnRollback(Map<Long, Integer> reserved) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(reserved);
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean compareAndReserve(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+            reserveRetries.increment();
+        }
+    }
+
+    private void release(Map<Long, Integer> reserved) {
+        reserved.forEach(this::adjust);
+    }
+
+    private void adjust(Long breadId, int delta) {
+        available.computeIfAbsent(breadId, id -> new AtomicInteger()).addAndGet(delta);
+    }
+}
@@ -3,14 +3,20 @@ package com.ddbb.service.payment;
 import com.ddbb.dto.payment.PaymentCompleteRequest;
 import com.ddbb.dto.payment.PaymentCompleteResponse;
 import com.ddbb.dto.payment.PaymentItem;
-import com.ddbb.entity.management.Bread;
 import com.ddbb.entity.management.Sales;
 import com.ddbb.repository.management.BreadRepository;
-import com.ddbb.repository.management.SalesRepository;
+import com.ddbb.repository.management.SalesJdbcRepository;
+import com.ddbb.service.management.BreadCatalog;
 import com.ddbb.service.management.InventoryService;
+import com.ddbb.service.management.SalesRecordedEvent;
+import com.ddbb.service.management.SalesRollupService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,19 +27,27 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 결제 처리 서비스
  * - 포트원 결제 게이트웨이 연동
  * - 결제 완료 시 자동으로 재고 차감 및 매출 기록
+ * - 메트릭: payment.complete{outcome, exception} (처리 시간, 커밋 제외), payment.cart.items / payment.cart.quantity (장바구니 크기)
  */
 @Slf4j
 @Service
 public class PaymentService {
     
-    private final SalesRepository salesRepository;
+    private final SalesJdbcRepository salesJdbcRepository;
     private final BreadRepository breadRepository;
+    private final BreadCatalog breadCatalog;
     private final InventoryService inventoryService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary cartItems;
+    private final DistributionSummary cartQuantity;
     
     @Value("${portone.api.secret}")
     private String apiSecret;
@@ -44,19 +58,38 @@ public class PaymentService {
     private final WebClient webClient;
     
     // WebClient 초기화를 위한 생성자
-    public PaymentService(SalesRepository salesRepository, 
+    public PaymentService(SalesJdbcRepository salesJdbcRepository, 
                          BreadRepository breadRepository, 
-                         InventoryService inventoryService) {
-        this.salesRepository = salesRepository;
+                         BreadCatalog breadCatalog,
+                         InventoryService inventoryService,
+                         SalesRollupService salesRollupService,
+                         ApplicationEventPublisher eventPublisher,
+                         MeterRegistry meterRegistry) {
+        this.salesJdbcRepository = salesJdbcRepository;
         this.breadRepository = breadRepository;
+        this.breadCatalog = breadCatalog;
         this.inventoryService = inventoryService;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
         this.webClient = WebClient.builder().build();
+        this.cartItems = DistributionSummary.builder("payment.cart.items")
+                .description("결제당 장바구니 품목 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.cartQuantity = DistributionSummary.builder("payment.cart.quantity")
+                .description("결제당 총 판매 수량")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
     
     /**
      * 결제 완료 처리
-     * 1. 재고 차감
-     * 2. 매출 기록
+     * 0. 빵 존재 확인 (카탈로그 캐시)
+     * 1. 재고 차감 (조건부 UPDATE 배치)
+     * 2. 매출 기록 (JDBC 배치 INSERT)
+     * 3. 일별 판매 집계 갱신
+     * 장바구니 크기와 무관하게 조회/갱신 왕복 횟수가 일정합니다.
      * 
      * @param request 결제 완료 요청 (빵 목록 포함)
      * @return 결제 처리 결과
@@ -65,43 +98,58 @@ public class PaymentService {
     public PaymentCompleteResponse processPaymentComplete(PaymentCompleteRequest request) {
         log.info("결제 완료 처리 시작 - Payment ID: {}", request.getPaymentId());
         
-        List<Long> salesIds = new ArrayList<>();
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        int totalQuantity = 0;
-        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
         try {
-            // 각 빵에 대해 재고 차감 및 매출 기록
+            // 1. 장바구니의 빵 존재 확인 (카탈로그 캐시 - 캐시에 있으면 DB 조회 없음)
+            // 빵 ID 순으로 모아 재고 행을 항상 같은 순서로 잠금 (장바구니 순서가 다른 동시 결제 간 교착 방지)
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (PaymentItem item : request.getItems()) {
+                quantities.merge(item.getBreadId(), item.getQuantity(), Integer::sum);
+            }
+            
+            Map<Long, BreadCatalog.CatalogBread> breads = breadCatalog.getAll(quantities.keySet());
+            for (Long breadId : quantities.keySet()) {
+                if (!breads.containsKey(breadId)) {
+                    throw new RuntimeException("빵 정보를 찾을 수 없습니다. Bread ID: " + breadId);
+                }
+            }
+            
+            // 2. 재고 일괄 차감 (조건부 UPDATE 배치)
+            log.info("재고 차감 - {}", quantities);
+            inventoryService.decreaseStockBatch(quantities);
+            
+            // 3. 매출 기록 일괄 생성 (JDBC 배치 INSERT)
+            LocalDateTime saleDate = LocalDateTime.now();
+            boolean stockApplied = !inventoryService.isStockDeferred();
+            List<Sales> salesList = new ArrayList<>();
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            int totalQuantity = 0;
+            
             for (PaymentItem item : request.getItems()) {
-                // 1. 빵 정보 조회
-                Bread bread = breadRepository.findById(item.getBreadId())
-                        .orElseThrow(() -> new RuntimeException(
-                                "빵 정보를 찾을 수 없습니다. Bread ID: " + item.getBreadId()));
-                
-                // 2. 재고 차감
-                log.info("재고 차감 - Bread: {}, Quantity: {}", bread.getName(), item.getQuantity());
-                inventoryService.decreaseStock(item.getBreadId(), item.getQuantity());
-                
-                // 3. 매출 기록 생성
                 BigDecimal itemTotalPrice = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
                 
-                Sales sales = Sales.builder()
-                        .bread(bread)
+                salesList.add(Sales.builder()
+                        .bread(breadRepository.getReferenceById(item.getBreadId()))
                         .quantity(item.getQuantity())
                         .totalPrice(itemTotalPrice)
-                        .saleDate(LocalDateTime.now())
-                        .build();
-                
-                Sales savedSales = salesRepository.save(sales);
-                salesIds.add(savedSales.getId());
+                        .saleDate(saleDate)
+                        .stockApplied(stockApplied)
+                        .build());
                 
                 // 4. 합계 계산
                 totalAmount = totalAmount.add(itemTotalPrice);
                 totalQuantity += item.getQuantity();
-                
-                log.info("매출 기록 완료 - Sales ID: {}, Amount: {}", savedSales.getId(), itemTotalPrice);
             }
             
-            log.info("결제 완료 처리 성공 - Total Amount: {}, Total Quantity: {}", totalAmount, totalQuantity);
+            List<Long> salesIds = salesJdbcRepository.insertAll(salesList);
+            salesRollupService.recordAll(salesList);
+            eventPublisher.publishEvent(new SalesRecordedEvent(salesList.size()));
+            
+            log.info("결제 완료 처리 성공 - Sales IDs: {}, Total Amount: {}, Total Quantity: {}",
+                    salesIds, totalAmount, totalQuantity);
+            cartItems.record(quantities.size());
+            cartQuantity.record(totalQuantity);
             
             return PaymentCompleteResponse.builder()
                     .success(true)
@@ -114,8 +162,16 @@ public class PaymentService {
                     .build();
                     
         } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
             log.error("결제 처리 중 오류 발생 - Payment ID: {}", request.getPaymentId(), e);
             throw new RuntimeException("결제 처리 실패: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("payment.complete")
+                    .description("결제 완료 처리 시간")
+                    .tag("outcome", "none".equals(exception) ? "success" : "failure")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
     
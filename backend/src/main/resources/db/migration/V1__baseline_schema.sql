@@ -0,0 +1,52 @@
+-- ========================================
+-- V1: 기준 스키마 (Flyway 도입 시점의 JPA 엔티티 매핑과 동일)
+-- ========================================
+-- 기존 DB는 spring.flyway.baseline-on-migrate=true 로 V1이 적용된 것으로 간주되고,
+-- 새 DB에서만 이 스크립트가 실행됩니다.
+
+CREATE TABLE IF NOT EXISTS bread (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price       DECIMAL(38, 2) NOT NULL,
+    category    VARCHAR(50),
+    image_url   VARCHAR(255),
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS inventory (
+    id                BIGINT      NOT NULL AUTO_INCREMENT,
+    bread_id          BIGINT      NOT NULL,
+    quantity          INT         NOT NULL,
+    min_stock_level   INT,
+    last_restocked_at DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_inventory_bread FOREIGN KEY (bread_id) REFERENCES bread (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS sales (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    bread_id      BIGINT         NOT NULL,
+    quantity      INT            NOT NULL,
+    total_price   DECIMAL(38, 2) NOT NULL,
+    sale_date     DATETIME(6)    NOT NULL,
+    created_at    DATETIME(6)    NOT NULL,
+    stock_applied BIT,
+    PRIMARY KEY (id),
+    INDEX idx_sales_sale_date_bread (sale_date, bread_id),
+    CONSTRAINT fk_sales_bread FOREIGN KEY (bread_id) REFERENCES bread (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+    id        BIGINT         NOT NULL AUTO_INCREMENT,
+    sale_date DATE           NOT NULL,
+    bread_id  BIGINT         NOT NULL,
+    quantity  BIGINT         NOT NULL,
+    revenue   DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_sales_rollup_date_bread UNIQUE (sale_date, bread_id),
+    CONSTRAINT fk_daily_sales_rollup_bread FOREIGN KEY (bread_id) REFERENCES bread (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,42 @@
+-- ========================================
+-- V2: 판매/재고 조회 인덱스
+-- ========================================
+-- - sales (sale_date, bread_id, quantity, total_price)
+--     기간 조회(findSalesInPeriod, findBySaleDateBetween)의 범위 스캔 +
+--     기간 요약(findSalesSummaryByPeriod)과 일별 집계를 테이블 접근 없이 인덱스만으로 처리 (covering)
+--     기존 (sale_date, bread_id) 인덱스는 이 인덱스의 접두어이므로 제거
+-- - inventory (bread_id)
+--     findByBreadId / 조건부 재고 차감 (WHERE bread_id = ?)
+--
+-- MySQL에는 CREATE/DROP INDEX IF [NOT] EXISTS가 없으므로 information_schema를 확인해 실행합니다.
+-- (ddl-auto=update로 이미 만들어진 인덱스가 있어도 안전)
+
+-- sales: 기존 (sale_date, bread_id) 인덱스 제거
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND index_name = 'idx_sales_sale_date_bread') > 0,
+    'ALTER TABLE sales DROP INDEX idx_sales_sale_date_bread',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- sales: covering 인덱스 생성
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND index_name = 'idx_sales_date_bread_covering') = 0,
+    'CREATE INDEX idx_sales_date_bread_covering ON sales (sale_date, bread_id, quantity, total_price)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- inventory: bread_id 인덱스 생성
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'inventory' AND index_name = 'idx_inventory_bread_id') = 0,
+    'CREATE INDEX idx_inventory_bread_id ON inventory (bread_id)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,38 @@
+-- ========================================
+-- V3: baseline 으로 편입된 기존 DB 보정
+-- ========================================
+-- V1 이전에 ddl-auto=update 로 만들어진 DB는 애플리케이션 버전에 따라
+-- daily_sales_rollup 테이블이나 sales.stock_applied 컬럼이 없을 수 있습니다.
+-- 이후 스키마는 Flyway만 변경하고 Hibernate는 검증(validate)만 하므로 여기서 맞춰둡니다.
+-- sales (stock_applied, id) 인덱스도 컬럼을 보정한 뒤 여기서 만듭니다.
+--     재고 원장 flusher가 매초 미반영 판매(stock_applied = FALSE)를 id 순으로 찾는 조회
+--     (인덱스가 없으면 저널이 비어 있어도 계속 커지는 sales 전체를 읽음)
+
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+    id        BIGINT         NOT NULL AUTO_INCREMENT,
+    sale_date DATE           NOT NULL,
+    bread_id  BIGINT         NOT NULL,
+    quantity  BIGINT         NOT NULL,
+    revenue   DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_sales_rollup_date_bread UNIQUE (sale_date, bread_id),
+    CONSTRAINT fk_daily_sales_rollup_bread FOREIGN KEY (bread_id) REFERENCES bread (id)
+) ENGINE = InnoDB;
+
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.columns
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND column_name = 'stock_applied') = 0,
+    'ALTER TABLE sales ADD COLUMN stock_applied BIT',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND index_name = 'idx_sales_stock_applied') = 0,
+    'CREATE INDEX idx_sales_stock_applied ON sales (stock_applied, id)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
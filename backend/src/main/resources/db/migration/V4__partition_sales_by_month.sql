@@ -0,0 +1,66 @@
+-- ========================================
+-- V4: sales 월별 파티셔닝 + 보관(archive) 테이블
+-- ========================================
+-- - sales 를 sale_date 기준 RANGE COLUMNS 월별 파티션으로 나눕니다.
+--     기간 조건(sale_date >= ? AND sale_date < ?)이 있는 조회는 해당 월 파티션만 읽습니다 (partition pruning).
+--     파티션 이름은 p{yyyyMM}, 마지막 p_future (MAXVALUE) 는 아직 만들어지지 않은 월의 안전망입니다.
+--     이후 월 파티션 생성 / 보관 기간이 지난 파티션 정리는 SalesPartitionService 가 수행합니다.
+-- - MySQL 파티션 테이블 제약
+--     외래 키를 가질 수 없으므로 fk_sales_bread(또는 ddl-auto 가 만든 FK)를 제거합니다. (bread_id 인덱스는 유지)
+--     모든 유니크 키에 파티션 컬럼이 포함되어야 하므로 PK를 (id, sale_date)로 바꿉니다.
+--     id 는 계속 AUTO_INCREMENT 로 발급되므로 애플리케이션에서는 여전히 id 단독으로 식별합니다.
+-- - sales_archive
+--     보관 기간이 지난 월의 판매를 일자/빵 단위로 압축해 보관합니다. (원본 파티션은 삭제)
+
+CREATE TABLE IF NOT EXISTS sales_archive (
+    sale_date  DATE           NOT NULL,
+    bread_id   BIGINT         NOT NULL,
+    quantity   BIGINT         NOT NULL,
+    revenue    DECIMAL(38, 2) NOT NULL,
+    sale_count INT            NOT NULL,
+    PRIMARY KEY (sale_date, bread_id)
+) ENGINE = InnoDB;
+
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.partitions
+                     WHERE table_schema = DATABASE() AND table_name = 'sales' AND partition_name IS NOT NULL);
+
+-- sales: 외래 키 제거
+SET @fk := (SELECT constraint_name FROM information_schema.referential_constraints
+            WHERE constraint_schema = DATABASE() AND table_name = 'sales' LIMIT 1);
+SET @ddl := IF(@partitioned = 0 AND @fk IS NOT NULL,
+    CONCAT('ALTER TABLE sales DROP FOREIGN KEY ', @fk),
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- sales: PK에 파티션 컬럼 포함
+SET @ddl := IF(@partitioned = 0,
+    'ALTER TABLE sales DROP PRIMARY KEY, ADD PRIMARY KEY (id, sale_date)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- sales: 가장 오래된 판매 월부터 다음 3개월까지 월별 파티션 생성
+SET SESSION group_concat_max_len = 1048576;
+SET @first_month := (SELECT DATE_FORMAT(COALESCE(MIN(sale_date), NOW()), '%Y-%m-01') FROM sales);
+SET @partitions := (
+    WITH RECURSIVE months (month_start) AS (
+        SELECT CAST(@first_month AS DATE)
+        UNION ALL
+        SELECT month_start + INTERVAL 1 MONTH FROM months
+        WHERE month_start < CAST(DATE_FORMAT(NOW(), '%Y-%m-01') AS DATE) + INTERVAL 3 MONTH
+    )
+    SELECT GROUP_CONCAT(
+               CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                      ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, ''')')
+               ORDER BY month_start SEPARATOR ', ')
+    FROM months);
+SET @ddl := IF(@partitioned = 0,
+    CONCAT('ALTER TABLE sales PARTITION BY RANGE COLUMNS (sale_date) (',
+           @partitions, ', PARTITION p_future VALUES LESS THAN (MAXVALUE))'),
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,31 @@
+-- ========================================
+-- V5: 판매 커서 페이지(keyset) 조회 인덱스
+-- ========================================
+-- 커서 페이지/내보내기 조회 (SalesRepository.findPageAfter / findPageByBreadAfter) 는
+-- WHERE sale_date 범위 AND (sale_date, id) > 커서 ORDER BY sale_date, id LIMIT n 입니다.
+-- - sales (sale_date)
+--     InnoDB 보조 인덱스에는 PK (id, sale_date) 가 덧붙으므로 실제로는 (sale_date, id) 순으로 정렬되어 있어,
+--     커서 다음 n건만 읽고 정렬(filesort) 없이 끝납니다. 페이지가 뒤로 가도 비용이 같습니다.
+--     covering 인덱스 (sale_date, bread_id, ...) 는 같은 sale_date 안에서 bread_id 순이라 id 순서를 보장하지 못함
+-- - sales (bread_id, sale_date)
+--     특정 빵만 조회할 때 같은 이유로 (bread_id, sale_date, id) 순서를 그대로 사용
+--
+-- 확인: EXPLAIN 의 Extra 에 Using filesort 가 없어야 합니다. (benchmark/sales_index_benchmark.sql 4번)
+
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND index_name = 'idx_sales_sale_date') = 0,
+    'CREATE INDEX idx_sales_sale_date ON sales (sale_date)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'sales' AND index_name = 'idx_sales_bread_sale_date') = 0,
+    'CREATE INDEX idx_sales_bread_sale_date ON sales (bread_id, sale_date)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,96 @@
+package com.ddbb.client;
+
+import com.ddbb.config.ConnectionMetricsDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 외부 호출 전 커넥션 보유 확인 테스트
+ * ConnectionMetricsDataSource 의 스레드별 보유 기록이 반납 스레드와 상관없이 정확한지,
+ * 가드가 보유 중일 때만 메트릭/예외를 내는지 확인합니다.
+ */
+class OutboundCallGuardTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource pool = mock(DataSource.class);
+    private ConnectionMetricsDataSource dataSource;
+    private OutboundCallGuard guard;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionMetricsDataSource(pool,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+        guard = new OutboundCallGuard(meterRegistry);
+    }
+
+    @Test
+    void guardIsSilentWithoutHeldConnection() throws Exception {
+        dataSource.getConnection().close();
+
+        guard.beforeOutboundCall("openai");
+
+        assertThat(ConnectionMetricsDataSource.heldByCurrentThread()).isZero();
+        assertThat(meterRegistry.find("db.connections.held_across_outbound").counter()).isNull();
+    }
+
+    @Test
+    void guardCountsAndFailsFastWhileConnectionIsHeld() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        guard.beforeOutboundCall("weather");
+        assertThat(meterRegistry.get("db.connections.held_across_outbound").tag("target", "weather").counter().count())
+                .isEqualTo(1.0);
+
+        ReflectionTestUtils.setField(guard, "failFast", true);
+        assertThatThrownBy(() -> guard.beforeOutboundCall("gemini"))
+                .isInstanceOf(IllegalStateException.class);
+
+        connection.close();
+        guard.beforeOutboundCall("gemini");
+    }
+
+    @Test
+    void closeOnAnotherThreadReleasesOwnersCount() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertThat(ConnectionMetricsDataSource.heldByCurrentThread()).isEqualTo(1);
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        assertThat(ConnectionMetricsDataSource.heldByCurrentThread()).isZero();
+    }
+
+    @Test
+    void repeatedCloseReleasesOnce() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(ConnectionMetricsDataSource.heldByCurrentThread()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.connection.usage").timer().count()).isEqualTo(1);
+        second.close();
+        assertThat(ConnectionMetricsDataSource.heldByCurrentThread()).isZero();
+    }
+}
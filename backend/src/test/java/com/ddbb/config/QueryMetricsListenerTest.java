@@ -0,0 +1,57 @@
+package com.ddbb.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL 지문 정규화 테스트
+ * 바인딩 값/목록 길이만 다른 쿼리는 같은 지문이 되고, Hibernate 별칭 같은 식별자는 그대로 남는지 확인합니다.
+ */
+class QueryMetricsListenerTest {
+
+    @Test
+    void inListsCollapseRegardlessOfLength() {
+        String one = QueryMetricsListener.normalize("select b1_0.id from bread b1_0 where b1_0.id in (?)");
+        String three = QueryMetricsListener.normalize("select b1_0.id from bread b1_0 where b1_0.id in (?, ?,?)");
+        String literals = QueryMetricsListener.normalize("select b1_0.id from bread b1_0 where b1_0.id IN (1, 2, 3)");
+
+        assertThat(one).isEqualTo("select b1_0.id from bread b1_0 where b1_0.id in (?+)");
+        assertThat(three).isEqualTo(one);
+        assertThat(literals).isEqualTo(one);
+    }
+
+    @Test
+    void stringAndNumberLiteralsBecomePlaceholders() {
+        assertThat(QueryMetricsListener.normalize(
+                "SELECT * FROM bread WHERE name = 'it''s' AND price > 2.50 LIMIT 10"))
+                .isEqualTo("select * from bread where name = ? and price > ? limit ?");
+        assertThat(QueryMetricsListener.normalize("update inventory set stock = stock - 3 where bread_id = 42"))
+                .isEqualTo("update inventory set stock = stock - ? where bread_id = ?");
+    }
+
+    @Test
+    void hibernateAliasesAndIdentifiersAreKept() {
+        String sql = "select s1_0.id,b1_0.name from sales s1_0 join bread b1_0 on b1_0.id=s1_0.bread_id "
+                + "where s1_0.sale_date>=? order by s1_0.sale_date";
+
+        assertThat(QueryMetricsListener.normalize(sql)).isEqualTo(sql);
+    }
+
+    @Test
+    void whitespaceAndCaseAreNormalized() {
+        assertThat(QueryMetricsListener.normalize("  SELECT\n\tid\n  FROM   bread  "))
+                .isEqualTo("select id from bread");
+    }
+
+    @Test
+    void queryIdIsShortAndStable() {
+        String fingerprint = QueryMetricsListener.normalize("select * from bread where id = 1");
+
+        assertThat(QueryMetricsListener.queryId(fingerprint))
+                .hasSize(10)
+                .matches("[0-9a-f]+")
+                .isEqualTo(QueryMetricsListener.queryId(QueryMetricsListener.normalize("select * from bread where id = 2")))
+                .isNotEqualTo(QueryMetricsListener.queryId("select * from sales where id = ?"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.ddbb.service.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * AI 인사이트 캐시 테스트
+ * 생성 실패(Error 포함)가 캐시에 남지 않는지, 만료 시 무효화가 한 번만 기록되는지 확인합니다.
+ */
+class InsightCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void loaderErrorIsNotLeftInCache() {
+        InsightCache cache = new InsightCache(meterRegistry, 300, 30, 0);
+
+        assertThatThrownBy(() -> cache.get("dashboard", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        // 실패한 항목을 기다리지 않고 다시 생성
+        Map<String, Object> value = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> cache.get("dashboard", () -> InsightCache.Loaded.of(Map.of("summary", "ok"))));
+        assertThat(value).containsEntry("summary", "ok");
+    }
+
+    @Test
+    void expiredEntryIsInvalidatedOnce() {
+        InsightCache cache = new InsightCache(meterRegistry, 0, 0, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("dashboard", () -> InsightCache.Loaded.of(Map.of("n", loads.incrementAndGet())));
+        cache.get("dashboard", () -> InsightCache.Loaded.of(Map.of("n", loads.incrementAndGet())));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("insights.cache.invalidations").tag("reason", "ttl").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ddbb.service.management;
+
+import com.ddbb.entity.management.Bread;
+import com.ddbb.entity.management.Inventory;
+import com.ddbb.repository.management.BreadRepository;
+import com.ddbb.repository.management.InventoryRepository;
+import com.ddbb.repository.management.SalesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 테스트 공통 설정
+ * H2(MySQL 모드)에 스키마를 새로 만들고, 병렬 스레드가 각자 커밋하도록 테스트 트랜잭션을 쓰지 않습니다.
+ * 테스트 클래스마다 설정(@Import, 프로퍼티)이 달라 컨텍스트가 따로 뜨므로 DB 이름은 컨텍스트마다 새로 만듭니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class InventoryJpaTestSupport {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    protected InventoryRepository inventoryRepository;
+
+    @Autowired
+    protected BreadRepository breadRepository;
+
+    @Autowired
+    protected SalesRepository salesRepository;
+
+    protected Bread bread;
+    protected Long breadId;
+
+    @BeforeEach
+    void createBread() {
+        bread = saveBread("크루아상", "3500");
+        breadId = bread.getId();
+    }
+
+    @AfterEach
+    void deleteAll() {
+        salesRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        breadRepository.deleteAll();
+    }
+
+    protected Bread saveBread(String name, String price) {
+        return breadRepository.save(Bread.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .build());
+    }
+
+    protected void saveInventory(Bread target, int quantity) {
+        inventoryRepository.save(Inventory.builder()
+                .bread(target)
+                .quantity(quantity)
+                .minStockLevel(0)
+                .build());
+    }
+
+    protected int currentQuantity() {
+        return inventoryRepository.findByBreadId(breadId).orElseThrow().getQuantity();
+    }
+
+    /**
+     * task를 THREADS개 스레드에서 tasks번 동시에 실행하고 모두 끝날 때까지 기다림
+     */
+    protected static void runConcurrently(int tasks, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
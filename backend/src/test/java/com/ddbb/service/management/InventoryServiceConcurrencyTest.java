@@ -0,0 +1,71 @@
+package com.ddbb.service.management;
+
+import com.ddbb.repository.management.InventoryJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 차감 동시성 테스트
+ * 같은 재고 행에 병렬로 판매를 몰아 넣고 초과 판매/유실 갱신이 없는지 확인합니다.
+ */
+@Import({InventoryService.class, InventoryJdbcRepository.class, BreadCatalog.class, SimpleMeterRegistry.class})
+class InventoryServiceConcurrencyTest extends InventoryJpaTestSupport {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Test
+    void parallelCheckoutsNeverOversell() throws Exception {
+        int stock = 50;
+        int attempts = 200;
+        saveInventory(bread, stock);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(attempts, () -> {
+            try {
+                inventoryService.decreaseStock(breadId, 1);
+                succeeded.incrementAndGet();
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(succeeded.get()).isEqualTo(stock);
+        assertThat(rejected.get()).isEqualTo(attempts - stock);
+        assertThat(currentQuantity()).isZero();
+    }
+
+    @Test
+    void parallelCheckoutsLoseNoUpdates() throws Exception {
+        int stock = 1000;
+        int attempts = 300;
+        saveInventory(bread, stock);
+
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(attempts, () -> {
+            if (inventoryService.tryDecreaseStock(breadId, 2)) {
+                succeeded.incrementAndGet();
+            }
+        });
+
+        assertThat(succeeded.get()).isEqualTo(attempts);
+        assertThat(currentQuantity()).isEqualTo(stock - attempts * 2);
+    }
+
+    @Test
+    void insufficientStockIsRejectedWithoutChange() {
+        saveInventory(bread, 1);
+
+        assertThat(inventoryService.tryDecreaseStock(breadId, 2)).isFalse();
+        assertThat(currentQuantity()).isEqualTo(1);
+    }
+}
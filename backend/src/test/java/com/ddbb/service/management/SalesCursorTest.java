@@ -0,0 +1,55 @@
+package com.ddbb.service.management;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 판매 내역 커서 인코딩 테스트
+ * nextCursor 로 내려준 값이 다음 요청에서 같은 (sale_date, id) 로 복원되는지, 잘못된 커서는 거절되는지 확인합니다.
+ */
+class SalesCursorTest {
+
+    @Test
+    void cursorRoundTripsSaleDateAndId() {
+        LocalDateTime[] saleDates = {
+                LocalDateTime.of(2025, 3, 1, 0, 0),             // 초가 0이면 toString 이 "T00:00" 으로 짧아짐
+                LocalDateTime.of(2025, 3, 1, 14, 5, 9),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59, 123_456_000)
+        };
+
+        for (LocalDateTime saleDate : saleDates) {
+            String cursor = SalesService.encodeCursor(saleDate, 4_294_967_296L);
+
+            assertThat(cursor).doesNotContain("+", "/", "=");
+            assertThat(SalesService.decodeCursor(cursor))
+                    .isEqualTo(new SalesService.SalesCursor(saleDate, 4_294_967_296L));
+        }
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String[] cursors = {
+                "not base64!",
+                encode("2025-03-01T10:00"),
+                encode("2025-03-01T10:00|12|3"),
+                encode("yesterday|12"),
+                encode("2025-03-01T10:00|twelve")
+        };
+
+        for (String cursor : cursors) {
+            assertThatThrownBy(() -> SalesService.decodeCursor(cursor))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("잘못된 커서");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
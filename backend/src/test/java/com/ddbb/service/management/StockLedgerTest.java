@@ -0,0 +1,194 @@
+package com.ddbb.service.management;
+
+import com.ddbb.dto.management.InventoryResponse;
+import com.ddbb.dto.management.InventoryUpdateRequest;
+import com.ddbb.entity.management.Bread;
+import com.ddbb.entity.management.Inventory;
+import com.ddbb.entity.management.Sales;
+import com.ddbb.repository.management.InventoryJdbcRepository;
+import com.ddbb.repository.management.SalesJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 원장 테스트
+ * CAS 예약의 초과 판매 방지, write-behind 반영/기동 복구의 멱등성,
+ * 원장 모드의 관리자 재고 변경(차감/입고/실사)과 재고 부족 판정이 원장 기준인지 확인합니다.
+ */
+@TestPropertySource(properties = {
+        "inventory.ledger.enabled=true",
+        "inventory.ledger.flush-batch-size=2"
+})
+@Import({StockLedger.class, StockJournal.class, InventoryService.class, InventoryJdbcRepository.class,
+        SalesJdbcRepository.class, BreadCatalog.class, SimpleMeterRegistry.class})
+class StockLedgerTest extends InventoryJpaTestSupport {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SalesJdbcRepository salesJdbcRepository;
+
+    @Test
+    void parallelReservationsNeverOversell() throws Exception {
+        saveInventory(bread, 50);
+        stockLedger.recover();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        runConcurrently(200, () -> {
+            try {
+                stockLedger.reserveAll(Map.of(breadId, 1));
+                succeeded.incrementAndGet();
+            } catch (RuntimeException e) {
+                // 재고 부족
+            }
+        });
+
+        assertThat(succeeded.get()).isEqualTo(50);
+        assertThat(stockLedger.getAvailable(breadId)).isZero();
+    }
+
+    @Test
+    void reserveAllIsAllOrNothing() {
+        Bread other = saveBread("바게트", "4000");
+        saveInventory(bread, 5);
+        saveInventory(other, 1);
+        stockLedger.recover();
+
+        assertThatThrownBy(() -> stockLedger.reserveAll(Map.of(breadId, 3, other.getId(), 2)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(5);
+        assertThat(stockLedger.getAvailable(other.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void flushAndRecoverApplyJournalExactlyOnce() {
+        saveInventory(bread, 10);
+        stockLedger.recover();
+
+        // 결제 경로와 같이 원장에서 예약하고 미반영 판매로 기록
+        for (int quantity : new int[]{1, 2, 3}) {
+            stockLedger.reserveAll(Map.of(breadId, quantity));
+            recordUnappliedSale(quantity);
+        }
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(4);
+        assertThat(currentQuantity()).isEqualTo(10);
+
+        stockLedger.flush();
+        assertThat(currentQuantity()).isEqualTo(4);
+
+        // 다시 반영하거나 재기동(복구)해도 같은 판매가 두 번 차감되지 않음
+        stockLedger.flush();
+        stockLedger.recover();
+        stockLedger.recover();
+        assertThat(currentQuantity()).isEqualTo(4);
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(4);
+    }
+
+    @Test
+    void recoverReplaysUnappliedSalesBeforeRebuilding() {
+        saveInventory(bread, 10);
+        // 지난 실행에서 반영하지 못하고 종료된 판매
+        recordUnappliedSale(3);
+
+        stockLedger.recover();
+
+        assertThat(currentQuantity()).isEqualTo(7);
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(7);
+    }
+
+    @Test
+    void adminDecreaseIsCheckedAgainstLedger() {
+        saveInventory(bread, 10);
+        stockLedger.recover();
+        stockLedger.reserveAll(Map.of(breadId, 4));
+        recordUnappliedSale(4);
+
+        // DB 재고(10)로는 충분하지만 원장(6) 기준으로는 부족 - 원장이 음수가 되면 안 됨
+        assertThat(inventoryService.tryDecreaseStock(breadId, 8)).isFalse();
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(6);
+        assertThat(currentQuantity()).isEqualTo(10);
+
+        assertThat(inventoryService.tryDecreaseStock(breadId, 5)).isTrue();
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(1);
+        assertThat(currentQuantity()).isEqualTo(5);
+
+        stockLedger.flush();
+        assertThat(currentQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void restockAddsToStockWithoutOverwritingPendingSales() {
+        saveInventory(bread, 10);
+        stockLedger.recover();
+        stockLedger.reserveAll(Map.of(breadId, 4));
+        recordUnappliedSale(4);
+
+        inventoryService.increaseStock(breadId, 5);
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(11);
+        assertThat(currentQuantity()).isEqualTo(15);
+
+        stockLedger.flush();
+        assertThat(currentQuantity()).isEqualTo(11);
+    }
+
+    @Test
+    void recountEndsAtRequestedQuantityAfterFlush() {
+        saveInventory(bread, 10);
+        stockLedger.recover();
+        stockLedger.reserveAll(Map.of(breadId, 3));
+        recordUnappliedSale(3);
+
+        // 실사 결과 20개 - 아직 반영되지 않은 판매 3개는 이미 팔린 것이므로 반영 후에도 20개여야 함
+        inventoryService.updateInventory(breadId, new InventoryUpdateRequest(20, null));
+        assertThat(stockLedger.getAvailable(breadId)).isEqualTo(20);
+
+        stockLedger.flush();
+        assertThat(currentQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    void lowStockIsJudgedByLedgerQuantity() {
+        inventoryRepository.save(Inventory.builder()
+                .bread(bread)
+                .quantity(10)
+                .minStockLevel(5)
+                .build());
+        stockLedger.recover();
+        stockLedger.reserveAll(Map.of(breadId, 6));
+        recordUnappliedSale(6);
+
+        // DB 재고(10)는 기준(5)보다 많지만 원장(4)은 부족
+        List<InventoryResponse> lowStock = inventoryService.getLowStockItems();
+
+        assertThat(lowStock).extracting(InventoryResponse::getBreadId).containsExactly(breadId);
+        assertThat(lowStock.get(0).getQuantity()).isEqualTo(4);
+    }
+
+    private void recordUnappliedSale(int quantity) {
+        salesJdbcRepository.insertAll(new ArrayList<>(List.of(Sales.builder()
+                .bread(bread)
+                .quantity(quantity)
+                .totalPrice(bread.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .saleDate(LocalDateTime.now())
+                .stockApplied(false)
+                .build())));
+    }
+}